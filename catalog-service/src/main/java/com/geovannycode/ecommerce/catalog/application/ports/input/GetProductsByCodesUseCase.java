@@ -0,0 +1,8 @@
+package com.geovannycode.ecommerce.catalog.application.ports.input;
+
+import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductBatchResponse;
+import java.util.Set;
+
+public interface GetProductsByCodesUseCase {
+    ProductBatchResponse getProductsByCodes(Set<String> codes);
+}
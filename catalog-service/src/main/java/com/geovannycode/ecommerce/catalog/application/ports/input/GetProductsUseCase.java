@@ -5,4 +5,10 @@ import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductDto;
 
 public interface GetProductsUseCase {
     PagedResult<ProductDto> getProducts(int pageNo);
+
+    /**
+     * Keyset pagination over the catalog. A blank cursor starts from the first page; the total count is only
+     * computed when {@code includeTotal} is set.
+     */
+    PagedResult<ProductDto> getProducts(String cursor, boolean includeTotal);
 }
@@ -3,37 +3,56 @@ package com.geovannycode.ecommerce.catalog.application.service;
 import com.geovannycode.ecommerce.catalog.application.ports.input.CreateProductUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.DeleteProductUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductByCodeUseCase;
+import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductsByCodesUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductsUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.SearchProductsUseCase;
 import com.geovannycode.ecommerce.catalog.domain.exception.ProductAlreadyExistsException;
+import com.geovannycode.ecommerce.catalog.domain.exception.ProductBatchTooLargeException;
 import com.geovannycode.ecommerce.catalog.domain.exception.ProductNotFoundException;
 import com.geovannycode.ecommerce.catalog.domain.model.PagedResult;
 import com.geovannycode.ecommerce.catalog.domain.model.Product;
+import com.geovannycode.ecommerce.catalog.domain.model.ProductCursor;
+import com.geovannycode.ecommerce.catalog.domain.port.output.ProductChangePublisher;
 import com.geovannycode.ecommerce.catalog.domain.port.output.ProductRepository;
+import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductBatchResponse;
 import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductDto;
 import com.geovannycode.ecommerce.catalog.infrastructure.api.mapper.ProductMapper;
 import com.geovannycode.ecommerce.catalog.infrastructure.config.ApplicationProperties;
+import com.geovannycode.ecommerce.catalog.infrastructure.config.CacheConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 public class ProductServiceImpl
         implements GetProductsUseCase,
                 GetProductByCodeUseCase,
+                GetProductsByCodesUseCase,
                 CreateProductUseCase,
                 DeleteProductUseCase,
                 SearchProductsUseCase {
 
     private final ProductRepository productRepository;
+    private final ProductChangePublisher productChangePublisher;
     private final ApplicationProperties properties;
 
-    public ProductServiceImpl(ProductRepository productRepository, ApplicationProperties properties) {
+    public ProductServiceImpl(
+            ProductRepository productRepository,
+            ProductChangePublisher productChangePublisher,
+            ApplicationProperties properties) {
         this.productRepository = productRepository;
+        this.productChangePublisher = productChangePublisher;
         this.properties = properties;
     }
 
@@ -42,7 +61,7 @@ public class ProductServiceImpl
         Sort sort = Sort.by("name").ascending();
         pageNo = pageNo <= 1 ? 0 : pageNo - 1;
         Pageable pageable = PageRequest.of(pageNo, properties.pageSize(), sort);
-        Page<ProductDto> productsPage = productRepository.findAll(pageable).map(ProductMapper::toDto);
+        Page<ProductDto> productsPage = productRepository.findActive(pageable).map(ProductMapper::toDto);
 
         return new PagedResult<>(
                 productsPage.getContent(),
@@ -52,10 +71,52 @@ public class ProductServiceImpl
                 productsPage.isFirst(),
                 productsPage.isLast(),
                 productsPage.hasNext(),
-                productsPage.hasPrevious());
+                productsPage.hasPrevious(),
+                null,
+                null);
     }
 
     @Override
+    public PagedResult<ProductDto> getProducts(String cursor, boolean includeTotal) {
+        int pageSize = properties.pageSize();
+        ProductCursor position = StringUtils.hasText(cursor) ? ProductCursor.decode(cursor) : null;
+        boolean backward = position != null && position.direction() == ProductCursor.Direction.PREVIOUS;
+
+        // One extra row tells us whether there is anything beyond this page without a count query.
+        List<Product> rows = backward
+                ? productRepository.findPageBefore(position, pageSize + 1)
+                : productRepository.findPageAfter(position, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<Product> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (backward) {
+            Collections.reverse(page);
+        }
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : position != null;
+
+        String nextCursor =
+                hasNext && !page.isEmpty() ? ProductCursor.after(page.getLast()).encode() : null;
+        String previousCursor = hasPrevious && !page.isEmpty()
+                ? ProductCursor.before(page.getFirst()).encode()
+                : null;
+        Long totalElements = includeTotal ? productRepository.countActiveProducts() : null;
+        Integer totalPages = totalElements != null ? (int) Math.ceil((double) totalElements / pageSize) : null;
+
+        return new PagedResult<>(
+                page.stream().map(ProductMapper::toDto).toList(),
+                totalElements,
+                null,
+                totalPages,
+                !hasPrevious,
+                !hasNext,
+                hasNext,
+                hasPrevious,
+                nextCursor,
+                previousCursor);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#code")
     public Optional<ProductDto> getProductByCode(String code) {
         return Optional.ofNullable(productRepository
                 .findByCode(code)
@@ -64,6 +125,21 @@ public class ProductServiceImpl
     }
 
     @Override
+    public ProductBatchResponse getProductsByCodes(Set<String> codes) {
+        if (codes.size() > properties.maxBatchSize()) {
+            throw ProductBatchTooLargeException.forSize(codes.size(), properties.maxBatchSize());
+        }
+        List<ProductDto> products = productRepository.findByCodes(codes).stream()
+                .map(ProductMapper::toDto)
+                .toList();
+        Set<String> foundCodes = products.stream().map(ProductDto::code).collect(Collectors.toSet());
+        List<String> missingCodes =
+                codes.stream().filter(code -> !foundCodes.contains(code)).toList();
+        return new ProductBatchResponse(products, missingCodes);
+    }
+
+    @Override
+    @Transactional
     public ProductDto createProduct(ProductDto productDto) {
         boolean existsProductByCode = productRepository.existsProductByCode(productDto.code());
         if (existsProductByCode) {
@@ -71,20 +147,23 @@ public class ProductServiceImpl
         }
         Product product = ProductMapper.toEntity(productDto);
         Product savedProduct = productRepository.save(product);
+        productChangePublisher.publishProductChanged(savedProduct.getCode());
         return ProductMapper.toDto(savedProduct);
     }
 
     @Override
+    @Transactional
     public void deleteProduct(String code) {
         Product product = productRepository.findByCode(code).orElseThrow(() -> new ProductNotFoundException(code));
         product.setDeleted(true);
         productRepository.save(product);
+        productChangePublisher.publishProductChanged(code);
     }
 
     @Override
     public PagedResult<ProductDto> searchProductsByCriteria(String query, int page) {
-        Sort sort = Sort.by("name").ascending();
-        Pageable pageable = PageRequest.of(page - 1, properties.pageSize(), sort);
+        // Results come back ranked by relevance, so no explicit sort is applied here.
+        Pageable pageable = PageRequest.of(page - 1, properties.pageSize());
         Page<Product> productPage = productRepository.searchProductsByCriteria(query, pageable);
         var productDtos =
                 productPage.getContent().stream().map(ProductMapper::toDto).collect(Collectors.toList());
@@ -96,6 +175,8 @@ public class ProductServiceImpl
                 productPage.isFirst(),
                 productPage.isLast(),
                 productPage.hasNext(),
-                productPage.hasPrevious());
+                productPage.hasPrevious(),
+                null,
+                null);
     }
 }
@@ -0,0 +1,11 @@
+package com.geovannycode.ecommerce.catalog.domain.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public static InvalidCursorException forCursor(String cursor) {
+        return new InvalidCursorException("Invalid page cursor " + cursor);
+    }
+}
@@ -0,0 +1,12 @@
+package com.geovannycode.ecommerce.catalog.domain.exception;
+
+public class ProductBatchTooLargeException extends RuntimeException {
+    public ProductBatchTooLargeException(String message) {
+        super(message);
+    }
+
+    public static ProductBatchTooLargeException forSize(int size, int maxBatchSize) {
+        return new ProductBatchTooLargeException(
+                "Requested " + size + " product codes, the maximum per batch is " + maxBatchSize);
+    }
+}
@@ -2,12 +2,18 @@ package com.geovannycode.ecommerce.catalog.domain.model;
 
 import java.util.List;
 
+/**
+ * A page of results. Offset pages fill in the page number and totals; cursor pages fill in the cursors and
+ * only carry totals when they were explicitly requested.
+ */
 public record PagedResult<T>(
         List<T> data,
-        long totalElements,
-        int pageNumber,
-        int totalPages,
+        Long totalElements,
+        Integer pageNumber,
+        Integer totalPages,
         boolean isFirst,
         boolean isLast,
         boolean hasNext,
-        boolean hasPrevious) {}
+        boolean hasPrevious,
+        String nextCursor,
+        String previousCursor) {}
@@ -0,0 +1,45 @@
+package com.geovannycode.ecommerce.catalog.domain.model;
+
+import com.geovannycode.ecommerce.catalog.domain.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the product listing, ordered by {@code (name, id)}. Clients only ever see the opaque
+ * {@link #encode() encoded} form.
+ */
+public record ProductCursor(Direction direction, String name, long id) {
+
+    public enum Direction {
+        NEXT,
+        PREVIOUS
+    }
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductCursor after(Product product) {
+        return new ProductCursor(Direction.NEXT, product.getName(), product.getId());
+    }
+
+    public static ProductCursor before(Product product) {
+        return new ProductCursor(Direction.PREVIOUS, product.getName(), product.getId());
+    }
+
+    public String encode() {
+        String raw = direction.name() + SEPARATOR + id + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw InvalidCursorException.forCursor(cursor);
+            }
+            return new ProductCursor(Direction.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw InvalidCursorException.forCursor(cursor);
+        }
+    }
+}
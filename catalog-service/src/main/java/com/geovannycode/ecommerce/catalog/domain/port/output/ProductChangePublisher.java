@@ -0,0 +1,5 @@
+package com.geovannycode.ecommerce.catalog.domain.port.output;
+
+public interface ProductChangePublisher {
+    void publishProductChanged(String code);
+}
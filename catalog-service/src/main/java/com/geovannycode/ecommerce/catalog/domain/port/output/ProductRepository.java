@@ -1,6 +1,9 @@
 package com.geovannycode.ecommerce.catalog.domain.port.output;
 
 import com.geovannycode.ecommerce.catalog.domain.model.Product;
+import com.geovannycode.ecommerce.catalog.domain.model.ProductCursor;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,7 +11,23 @@ import org.springframework.data.domain.Pageable;
 public interface ProductRepository {
     Optional<Product> findByCode(String code);
 
-    Page<Product> findAll(Pageable pageable);
+    List<Product> findByCodes(Collection<String> codes);
+
+    /** Active products, one offset page at a time. */
+    Page<Product> findActive(Pageable pageable);
+
+    /**
+     * Active products ordered by {@code (name, id)} that come after the cursor, or from the start when the
+     * cursor is {@code null}.
+     */
+    List<Product> findPageAfter(ProductCursor cursor, int limit);
+
+    /**
+     * Active products that come before the cursor, nearest first (i.e. in descending {@code (name, id)} order).
+     */
+    List<Product> findPageBefore(ProductCursor cursor, int limit);
+
+    long countActiveProducts();
 
     boolean existsProductByCode(String code);
 
@@ -0,0 +1,31 @@
+package com.geovannycode.ecommerce.catalog.infrastructure.adapter.cache;
+
+import com.geovannycode.ecommerce.catalog.domain.port.output.ProductChangePublisher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes product changes through Postgres NOTIFY. The notification joins the caller's transaction,
+ * so listeners only hear about changes that were actually committed. This node evicts its own entry as soon as
+ * the transaction commits, without waiting for the notification to come back.
+ */
+@Component
+public class PostgresProductChangePublisher implements ProductChangePublisher {
+    static final String CHANNEL = "product_changes";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public PostgresProductChangePublisher(
+            JdbcTemplate jdbcTemplate, ApplicationEventPublisher applicationEventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publishProductChanged(String code) {
+        jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, code);
+        applicationEventPublisher.publishEvent(new ProductChangedEvent(code));
+    }
+}
@@ -0,0 +1,116 @@
+package com.geovannycode.ecommerce.catalog.infrastructure.adapter.cache;
+
+import com.geovannycode.ecommerce.catalog.infrastructure.config.CacheConfig;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listens on the {@value PostgresProductChangePublisher#CHANNEL} channel and evicts changed products from the
+ * local cache, so every catalog node drops stale entries as soon as a write commits. The listening connection is
+ * opened directly rather than borrowed from the pool, since it is held for as long as the node runs. Writes made
+ * on this node are also evicted right after their transaction commits.
+ */
+@Component
+public class ProductCacheInvalidationListener implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheInvalidationListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final CacheManager cacheManager;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ProductCacheInvalidationListener(JdbcConnectionDetails connectionDetails, CacheManager cacheManager) {
+        this.connectionDetails = connectionDetails;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("product-cache-invalidation")
+                .daemon(true)
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + PostgresProductChangePublisher.CHANNEL);
+                }
+                // Notifications sent while we were disconnected are lost, so start from a clean cache.
+                productsCache().clear();
+                log.info("Listening for product changes on channel {}", PostgresProductChangePublisher.CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        log.debug("Evicting product {} from cache", notification.getParameter());
+                        productsCache().evict(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Product change listener disconnected, retrying in {}: {}", RECONNECT_DELAY, e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onProductChanged(ProductChangedEvent event) {
+        productsCache().evict(event.code());
+    }
+
+    private Cache productsCache() {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + CacheConfig.PRODUCTS_CACHE + " is not configured");
+        }
+        return cache;
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.geovannycode.ecommerce.catalog.infrastructure.adapter.cache;
+
+/** Raised when a product is written, so this node can evict it from its own cache once the write commits. */
+record ProductChangedEvent(String code) {}
@@ -1,7 +1,10 @@
 package com.geovannycode.ecommerce.catalog.infrastructure.adapter.persistence;
 
 import com.geovannycode.ecommerce.catalog.domain.model.Product;
+import com.geovannycode.ecommerce.catalog.domain.model.ProductCursor;
 import com.geovannycode.ecommerce.catalog.domain.port.output.ProductRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,8 +25,31 @@ public class JpaProductRepository implements ProductRepository {
     }
 
     @Override
-    public Page<Product> findAll(Pageable pageable) {
-        return springDataProductRepository.findAll(pageable);
+    public List<Product> findByCodes(Collection<String> codes) {
+        return springDataProductRepository.findByCodes(codes);
+    }
+
+    @Override
+    public Page<Product> findActive(Pageable pageable) {
+        return springDataProductRepository.findByDeletedFalse(pageable);
+    }
+
+    @Override
+    public List<Product> findPageAfter(ProductCursor cursor, int limit) {
+        if (cursor == null) {
+            return springDataProductRepository.findFirstPage(limit);
+        }
+        return springDataProductRepository.findPageAfter(cursor.name(), cursor.id(), limit);
+    }
+
+    @Override
+    public List<Product> findPageBefore(ProductCursor cursor, int limit) {
+        return springDataProductRepository.findPageBefore(cursor.name(), cursor.id(), limit);
+    }
+
+    @Override
+    public long countActiveProducts() {
+        return springDataProductRepository.countByDeletedFalse();
     }
 
     @Override
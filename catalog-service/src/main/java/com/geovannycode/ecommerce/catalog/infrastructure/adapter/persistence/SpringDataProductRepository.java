@@ -1,6 +1,8 @@
 package com.geovannycode.ecommerce.catalog.infrastructure.adapter.persistence;
 
 import com.geovannycode.ecommerce.catalog.domain.model.Product;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,16 +14,87 @@ public interface SpringDataProductRepository extends JpaRepository<Product, Long
     @Query("SELECT p FROM Product p WHERE p.code = :code AND p.deleted = false")
     Optional<Product> findByCode(String code);
 
+    @Query("SELECT p FROM Product p WHERE p.code IN :codes AND p.deleted = false")
+    List<Product> findByCodes(Collection<String> codes);
+
     Page<Product> findAll(Pageable pageable);
 
+    Page<Product> findByDeletedFalse(Pageable pageable);
+
+    @Query(
+            value =
+                    """
+            SELECT p.id, p.code, p.name, p.description, p.image_url, p.price, p.stock, p.discount, p.deleted
+            FROM products p
+            WHERE p.deleted = false
+            ORDER BY p.name ASC, p.id ASC
+            LIMIT :limit
+            """,
+            nativeQuery = true)
+    List<Product> findFirstPage(@Param("limit") int limit);
+
+    @Query(
+            value =
+                    """
+            SELECT p.id, p.code, p.name, p.description, p.image_url, p.price, p.stock, p.discount, p.deleted
+            FROM products p
+            WHERE p.deleted = false
+              AND (p.name, p.id) > (:name, :id)
+            ORDER BY p.name ASC, p.id ASC
+            LIMIT :limit
+            """,
+            nativeQuery = true)
+    List<Product> findPageAfter(@Param("name") String name, @Param("id") long id, @Param("limit") int limit);
+
+    @Query(
+            value =
+                    """
+            SELECT p.id, p.code, p.name, p.description, p.image_url, p.price, p.stock, p.discount, p.deleted
+            FROM products p
+            WHERE p.deleted = false
+              AND (p.name, p.id) < (:name, :id)
+            ORDER BY p.name DESC, p.id DESC
+            LIMIT :limit
+            """,
+            nativeQuery = true)
+    List<Product> findPageBefore(@Param("name") String name, @Param("id") long id, @Param("limit") int limit);
+
+    long countByDeletedFalse();
+
     boolean existsProductByCode(String code);
 
     void deleteByCode(String code);
 
-    @Query("""
-    SELECT p FROM Product p
-    WHERE p.name LIKE %:query%
-    ORDER BY p.name ASC
-""")
+    /**
+     * Full-text search over name and description with prefix matching on every term, falling back to trigram
+     * similarity on the name for typos. Results are ordered by relevance.
+     */
+    @Query(
+            value =
+                    """
+            SELECT p.id, p.code, p.name, p.description, p.image_url, p.price, p.stock, p.discount, p.deleted
+            FROM products p
+            CROSS JOIN (
+                SELECT to_tsquery('simple', (
+                    SELECT string_agg(quote_literal(lexeme) || ':*', ' & ')
+                    FROM unnest(to_tsvector('simple', :query)))) AS q
+            ) search
+            WHERE p.deleted = false
+              AND (p.search_vector @@ search.q OR p.name % :query)
+            ORDER BY ts_rank(p.search_vector, search.q) DESC, similarity(p.name, :query) DESC, p.name ASC
+            """,
+            countQuery =
+                    """
+            SELECT count(*)
+            FROM products p
+            CROSS JOIN (
+                SELECT to_tsquery('simple', (
+                    SELECT string_agg(quote_literal(lexeme) || ':*', ' & ')
+                    FROM unnest(to_tsvector('simple', :query)))) AS q
+            ) search
+            WHERE p.deleted = false
+              AND (p.search_vector @@ search.q OR p.name % :query)
+            """,
+            nativeQuery = true)
     Page<Product> searchProductsByCriteria(@Param("query") String query, Pageable pageable);
 }
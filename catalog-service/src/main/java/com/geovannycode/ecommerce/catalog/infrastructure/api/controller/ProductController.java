@@ -3,9 +3,12 @@ package com.geovannycode.ecommerce.catalog.infrastructure.api.controller;
 import com.geovannycode.ecommerce.catalog.application.ports.input.CreateProductUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.DeleteProductUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductByCodeUseCase;
+import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductsByCodesUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductsUseCase;
 import com.geovannycode.ecommerce.catalog.application.ports.input.SearchProductsUseCase;
 import com.geovannycode.ecommerce.catalog.domain.model.PagedResult;
+import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductBatchRequest;
+import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductBatchResponse;
 import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductDto;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -25,6 +28,7 @@ public class ProductController {
 
     private final GetProductsUseCase getProductsUseCase;
     private final GetProductByCodeUseCase getProductByCodeUseCase;
+    private final GetProductsByCodesUseCase getProductsByCodesUseCase;
     private final CreateProductUseCase createProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
     private final SearchProductsUseCase searchProductsUseCase;
@@ -32,18 +36,32 @@ public class ProductController {
     public ProductController(
             GetProductsUseCase getProductsUseCase,
             GetProductByCodeUseCase getProductByCodeUseCase,
+            GetProductsByCodesUseCase getProductsByCodesUseCase,
             CreateProductUseCase createProductUseCase,
             DeleteProductUseCase deleteProductUseCase,
             SearchProductsUseCase searchProductsUseCase) {
         this.getProductsUseCase = getProductsUseCase;
         this.getProductByCodeUseCase = getProductByCodeUseCase;
+        this.getProductsByCodesUseCase = getProductsByCodesUseCase;
         this.createProductUseCase = createProductUseCase;
         this.deleteProductUseCase = deleteProductUseCase;
         this.searchProductsUseCase = searchProductsUseCase;
     }
 
+    /**
+     * Lists active products by page number, or by keyset cursor once a {@code cursor} parameter is present. An
+     * empty {@code cursor=} starts keyset paging at the first page; later pages pass the {@code nextCursor} or
+     * {@code previousCursor} of the previous response, and {@code page} is ignored. Cursor pages only carry totals
+     * when {@code includeTotal=true}.
+     */
     @GetMapping
-    PagedResult<ProductDto> getProducts(@RequestParam(name = "page", defaultValue = "1") int pageNo) {
+    PagedResult<ProductDto> getProducts(
+            @RequestParam(name = "page", defaultValue = "1") int pageNo,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        if (cursor != null) {
+            return getProductsUseCase.getProducts(cursor, includeTotal);
+        }
         return getProductsUseCase.getProducts(pageNo);
     }
 
@@ -55,6 +73,11 @@ public class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/batch")
+    ProductBatchResponse getProductsByCodes(@RequestBody @Valid ProductBatchRequest request) {
+        return getProductsByCodesUseCase.getProductsByCodes(request.codes());
+    }
+
     @PostMapping
     public ResponseEntity<ProductDto> createProduct(@RequestBody @Valid ProductDto productDto) {
 
@@ -0,0 +1,6 @@
+package com.geovannycode.ecommerce.catalog.infrastructure.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.Set;
+
+public record ProductBatchRequest(@NotEmpty(message = "Product codes are required") Set<String> codes) {}
@@ -0,0 +1,5 @@
+package com.geovannycode.ecommerce.catalog.infrastructure.api.dto;
+
+import java.util.List;
+
+public record ProductBatchResponse(List<ProductDto> products, List<String> missingCodes) {}
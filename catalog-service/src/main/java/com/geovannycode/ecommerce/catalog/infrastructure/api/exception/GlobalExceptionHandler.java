@@ -1,5 +1,7 @@
 package com.geovannycode.ecommerce.catalog.infrastructure.api.exception;
 
+import com.geovannycode.ecommerce.catalog.domain.exception.InvalidCursorException;
+import com.geovannycode.ecommerce.catalog.domain.exception.ProductBatchTooLargeException;
 import com.geovannycode.ecommerce.catalog.domain.exception.ProductNotFoundException;
 import java.net.URI;
 import java.time.Instant;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     private static final URI NOT_FOUND_TYPE = URI.create("https://api.ecommerce.com/errors/not-found");
+    private static final URI BAD_REQUEST_TYPE = URI.create("https://api.ecommerce.com/errors/bad-request");
     private static final URI ISE_FOUND_TYPE = URI.create("https://api.ecommerce.com/errors/server-error");
     private static final String SERVICE_NAME = "catalog-service";
 
@@ -36,4 +39,26 @@ public class GlobalExceptionHandler {
         problemDetail.setProperty("timestamp", Instant.now());
         return problemDetail;
     }
+
+    @ExceptionHandler(ProductBatchTooLargeException.class)
+    ProblemDetail handleProductBatchTooLargeException(ProductBatchTooLargeException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problemDetail.setTitle("Product Batch Too Large");
+        problemDetail.setType(BAD_REQUEST_TYPE);
+        problemDetail.setProperty("service", SERVICE_NAME);
+        problemDetail.setProperty("error_category", "Generic");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    ProblemDetail handleInvalidCursorException(InvalidCursorException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problemDetail.setTitle("Invalid Cursor");
+        problemDetail.setType(BAD_REQUEST_TYPE);
+        problemDetail.setProperty("service", SERVICE_NAME);
+        problemDetail.setProperty("error_category", "Generic");
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
 }
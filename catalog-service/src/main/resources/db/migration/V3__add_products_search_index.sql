@@ -0,0 +1,10 @@
+create extension if not exists pg_trgm;
+
+alter table products
+    add column search_vector tsvector generated always as (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) stored;
+
+create index idx_products_search_vector on products using gin (search_vector);
+create index idx_products_name_trgm on products using gin (name gin_trgm_ops);
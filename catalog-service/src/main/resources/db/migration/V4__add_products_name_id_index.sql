@@ -0,0 +1 @@
+create index idx_products_name_id on products (name, id) where deleted = false;
@@ -0,0 +1,147 @@
+package com.geovannycode.ecommerce.catalog.infrastructure.adapter.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.geovannycode.ecommerce.catalog.TestcontainersConfiguration;
+import com.geovannycode.ecommerce.catalog.application.ports.input.CreateProductUseCase;
+import com.geovannycode.ecommerce.catalog.application.ports.input.DeleteProductUseCase;
+import com.geovannycode.ecommerce.catalog.application.ports.input.GetProductByCodeUseCase;
+import com.geovannycode.ecommerce.catalog.domain.exception.ProductNotFoundException;
+import com.geovannycode.ecommerce.catalog.domain.port.output.ProductChangePublisher;
+import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductDto;
+import com.geovannycode.ecommerce.catalog.infrastructure.config.CacheConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Sql("/test-data.sql")
+public class ProductCacheTest {
+
+    @Autowired
+    private GetProductByCodeUseCase getProductByCodeUseCase;
+
+    @Autowired
+    private CreateProductUseCase createProductUseCase;
+
+    @Autowired
+    private DeleteProductUseCase deleteProductUseCase;
+
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache productsCache;
+
+    @BeforeEach
+    void setUp() {
+        productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        productsCache.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        getProductByCodeUseCase.getProductByCode("P100");
+        jdbcTemplate.update("update products set name = 'Renamed' where code = 'P100'");
+
+        Optional<ProductDto> product = getProductByCodeUseCase.getProductByCode("P100");
+
+        assertThat(product).map(ProductDto::name).contains("The Hunger Games");
+        assertThat(productsCache.get("P100")).isNotNull();
+    }
+
+    @Test
+    void shouldEvictProductWhenItIsDeleted() {
+        getProductByCodeUseCase.getProductByCode("P100");
+
+        deleteProductUseCase.deleteProduct("P100");
+
+        assertThat(productsCache.get("P100")).isNull();
+        assertThatThrownBy(() -> getProductByCodeUseCase.getProductByCode("P100"))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void shouldKeepCachedProductWhenTheDeletionRollsBack() {
+        getProductByCodeUseCase.getProductByCode("P100");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            deleteProductUseCase.deleteProduct("P100");
+            status.setRollbackOnly();
+        });
+
+        assertThat(productsCache.get("P100")).isNotNull();
+        assertThat(getProductByCodeUseCase.getProductByCode("P100")).isPresent();
+    }
+
+    @Test
+    void shouldNotHoldAPooledConnectionWhileListening() {
+        jdbcTemplate.queryForObject("select 1", Integer.class);
+
+        assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections())
+                .isZero();
+    }
+
+    @Test
+    void shouldEvictProductWhenItIsCreated() {
+        productsCache.put("P115", Optional.empty());
+
+        createProductUseCase.createProduct(new ProductDto(
+                "P115",
+                "New Product",
+                "This is a new product.",
+                "https://example.com/new-product.jpg",
+                new BigDecimal("25.0"),
+                100,
+                null,
+                BigDecimal.ZERO));
+
+        assertThat(productsCache.get("P115")).isNull();
+        assertThat(getProductByCodeUseCase.getProductByCode("P115"))
+                .map(ProductDto::name)
+                .contains("New Product");
+    }
+
+    @Test
+    void shouldEvictProductWhenAnotherNodePublishesItsDeletion() throws InterruptedException {
+        getProductByCodeUseCase.getProductByCode("P100");
+
+        // Another node deletes the product: only the database row and the notification are shared.
+        jdbcTemplate.update("update products set deleted = true where code = 'P100'");
+        productChangePublisher.publishProductChanged("P100");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (productsCache.get("P100") != null && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(productsCache.get("P100")).isNull();
+        assertThatThrownBy(() -> getProductByCodeUseCase.getProductByCode("P100"))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+}
@@ -80,7 +80,7 @@ public class ProductRepositoryTest {
 
     @Test
     void shouldSearchProductsByCriteria() {
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("name").ascending());
+        Pageable pageable = PageRequest.of(0, 10);
         Page<Product> productPage = springDataProductRepository.searchProductsByCriteria("The", pageable);
 
         assertThat(productPage.getContent()).isNotEmpty();
@@ -88,4 +88,17 @@ public class ProductRepositoryTest {
                         .anyMatch(product -> product.getName().contains("The")))
                 .isTrue();
     }
+
+    @Test
+    void shouldSearchProductsIgnoringCaseAndDeletedProducts() {
+        springDataProductRepository.findByCode("P107").orElseThrow().setDeleted(true);
+        springDataProductRepository.flush();
+
+        Page<Product> productPage =
+                springDataProductRepository.searchProductsByCriteria("HUNGER gam", PageRequest.of(0, 10));
+        assertThat(productPage.getContent()).extracting(Product::getCode).containsExactly("P100");
+
+        assertThat(springDataProductRepository.searchProductsByCriteria("alchemist", PageRequest.of(0, 10)))
+                .isEmpty();
+    }
 }
@@ -1,6 +1,8 @@
 package com.geovannycode.ecommerce.catalog.infrastructure.api;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,8 +12,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.geovannycode.ecommerce.catalog.TestcontainersConfiguration;
+import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductBatchRequest;
 import com.geovannycode.ecommerce.catalog.infrastructure.api.dto.ProductDto;
+import com.jayway.jsonpath.JsonPath;
 import java.math.BigDecimal;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -47,6 +52,46 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.hasPrevious", is(false)));
     }
 
+    @Test
+    void shouldPageThroughProductsWithCursor() throws Exception {
+        String firstPage = mockMvc.perform(
+                        get("/api/products").param("cursor", "").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(10)))
+                .andExpect(jsonPath("$.totalElements", is(15)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.hasPrevious", is(false)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(get("/api/products").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(5)))
+                .andExpect(jsonPath("$.totalElements", nullValue()))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.hasPrevious", is(true)))
+                .andExpect(jsonPath("$.previousCursor").isString());
+    }
+
+    @Test
+    void shouldLeaveDeletedProductsOutOfBothPagingModes() throws Exception {
+        mockMvc.perform(delete("/api/products/{code}", "P100")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk()).andExpect(jsonPath("$.totalElements", is(14)));
+        mockMvc.perform(get("/api/products").param("cursor", "").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(14)));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/products").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title", is("Invalid Cursor")));
+    }
+
     @Test
     void shouldGetProductByCode() throws Exception {
         mockMvc.perform(get("/api/products/{code}", "P100"))
@@ -65,9 +110,22 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$.detail", is("Product with code " + code + " not found")));
     }
 
+    @Test
+    void shouldGetProductsByCodes() throws Exception {
+        ProductBatchRequest request = new ProductBatchRequest(Set.of("P100", "P101", "invalid_product_code"));
+
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(2)))
+                .andExpect(jsonPath("$.missingCodes", hasSize(1)))
+                .andExpect(jsonPath("$.missingCodes[0]", is("invalid_product_code")));
+    }
+
     @Test
     void shouldSearchProducts() throws Exception {
-        mockMvc.perform(get("/api/products/search").param("query", "The").param("page", "1"))
+        mockMvc.perform(get("/api/products/search").param("query", "alchem").param("page", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data[0].name").value(is("The Alchemist")));
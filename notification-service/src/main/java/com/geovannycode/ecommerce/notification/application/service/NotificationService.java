@@ -1,10 +1,10 @@
 package com.geovannycode.ecommerce.notification.application.service;
 
-import com.geovannycode.ecommerce.notification.domain.model.Customer;
-import com.geovannycode.ecommerce.notification.domain.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderCreatedEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderErrorEvent;
+import com.geovannycode.ecommerce.events.OrderCancelledEvent;
+import com.geovannycode.ecommerce.events.OrderCreatedEvent;
+import com.geovannycode.ecommerce.events.OrderDeliveredEvent;
+import com.geovannycode.ecommerce.events.OrderErrorEvent;
+import com.geovannycode.ecommerce.events.OrderEvent;
 import com.geovannycode.ecommerce.notification.domain.port.input.NotificationUseCase;
 import com.geovannycode.ecommerce.notification.domain.port.output.EmailSenderPort;
 import com.geovannycode.ecommerce.notification.infrastructure.config.ApplicationProperties;
@@ -34,88 +34,88 @@ public class NotificationService implements NotificationUseCase {
 
     @Override
     public void sendOrderCreatedNotification(OrderCreatedEvent event) {
-        if (!validateCustomerAndEmail(event.getCustomer(), event.getOrderNumber())) {
+        if (!validateCustomerAndEmail(event.customer(), event.orderNumber())) {
             return;
         }
 
         // Si recientemente se envió una notificación para esta orden, evaluar si enviamos esta
-        if (!shouldSendNotification(event.getOrderNumber(), "Order Created")) {
+        if (!shouldSendNotification(event.orderNumber(), "Order Created")) {
             log.info(
                     "Skipping Order Created notification for orderNumber: {} as another notification was sent recently",
-                    event.getOrderNumber());
+                    event.orderNumber());
             return;
         }
 
         sendNotificationEmail(
-                event.getCustomer().getEmail(),
+                event.customer().email(),
                 "Order Created Notification",
                 createNotificationMessage(
-                        "Order Created Notification", event.getCustomer().getName(), event.getOrderNumber(), null));
+                        "Order Created Notification", event.customer().name(), event.orderNumber(), null));
 
         // Registrar que se envió una notificación
-        recordNotification(event.getOrderNumber(), "Order Created");
+        recordNotification(event.orderNumber(), "Order Created");
     }
 
     @Override
     public void sendOrderDeliveredNotification(OrderDeliveredEvent event) {
-        if (!validateCustomerAndEmail(event.getCustomer(), event.getOrderNumber())) {
+        if (!validateCustomerAndEmail(event.customer(), event.orderNumber())) {
             return;
         }
 
-        NotificationRecord lastNotification = lastNotifications.get(event.getOrderNumber());
+        NotificationRecord lastNotification = lastNotifications.get(event.orderNumber());
         if (lastNotification == null
-                && event.getCreatedAt() != null
-                && Duration.between(event.getCreatedAt(), LocalDateTime.now()).compareTo(Duration.ofMinutes(1)) < 0) {
+                && event.createdAt() != null
+                && Duration.between(event.createdAt(), LocalDateTime.now()).compareTo(Duration.ofMinutes(1)) < 0) {
 
-            log.info("Order was created and delivered very quickly: {}", event.getOrderNumber());
+            log.info("Order was created and delivered very quickly: {}", event.orderNumber());
         }
 
         // Solo enviamos notificación normal de entrega
         sendNotificationEmail(
-                event.getCustomer().getEmail(),
+                event.customer().email(),
                 "Order Delivered Notification",
                 createNotificationMessage(
-                        "Order Delivered Notification", event.getCustomer().getName(), event.getOrderNumber(), null));
+                        "Order Delivered Notification", event.customer().name(), event.orderNumber(), null));
 
-        recordNotification(event.getOrderNumber(), "Order Delivered");
+        recordNotification(event.orderNumber(), "Order Delivered");
     }
 
     @Override
     public void sendOrderCancelledNotification(OrderCancelledEvent event) {
-        if (!validateCustomerAndEmail(event.getCustomer(), event.getOrderNumber())) {
+        if (!validateCustomerAndEmail(event.customer(), event.orderNumber())) {
             return;
         }
 
         // Las notificaciones de cancelación son importantes y siempre se envían
         sendNotificationEmail(
-                event.getCustomer().getEmail(),
+                event.customer().email(),
                 "Order Cancelled Notification",
                 createNotificationMessage(
                         "Order Cancelled Notification",
-                        event.getCustomer().getName(),
-                        event.getOrderNumber(),
-                        "Reason: " + event.getReason()));
+                        event.customer().name(),
+                        event.orderNumber(),
+                        "Reason: " + event.reason()));
 
-        recordNotification(event.getOrderNumber(), "Order Cancelled");
+        recordNotification(event.orderNumber(), "Order Cancelled");
     }
 
     @Override
     public void sendOrderErrorEventNotification(OrderErrorEvent event) {
-        if (!validateCustomerAndEmail(event.getCustomer(), event.getOrderNumber())) {
+        if (!validateCustomerAndEmail(event.customer(), event.orderNumber())) {
             return;
         }
 
         // Las notificaciones de error son importantes y siempre se envían
         sendNotificationEmail(
-                event.getCustomer().getEmail(),
+                event.customer().email(),
                 "Order Processing Failure Notification",
                 createNotificationMessage(
                         "Order Processing Failure Notification",
-                        event.getCustomer().getName(),
-                        event.getOrderNumber(),
-                        "Reason: " + event.getReason()));
+                        event.customer().name(),
+                        event.orderNumber(),
+                        "Reason: " + event.reason()));
 
-        recordNotification(event.getOrderNumber(), "Order Error");
+        recordNotification(event.orderNumber(), "Order Error");
     }
 
     private boolean shouldSendNotification(String orderNumber, String notificationType) {
@@ -153,13 +153,13 @@ public class NotificationService implements NotificationUseCase {
         }
     }
 
-    private boolean validateCustomerAndEmail(Customer customer, String orderNumber) {
+    private boolean validateCustomerAndEmail(OrderEvent.Customer customer, String orderNumber) {
         if (customer == null) {
             log.error("Cannot send notification: Customer is null for orderNumber: {}", orderNumber);
             return false;
         }
 
-        if (customer.getEmail() == null || customer.getEmail().isEmpty()) {
+        if (customer.email() == null || customer.email().isEmpty()) {
             log.error("Cannot send notification: Customer email is null or empty for orderNumber: {}", orderNumber);
             return false;
         }
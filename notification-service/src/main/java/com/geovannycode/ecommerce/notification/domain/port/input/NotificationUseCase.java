@@ -1,9 +1,9 @@
 package com.geovannycode.ecommerce.notification.domain.port.input;
 
-import com.geovannycode.ecommerce.notification.domain.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderCreatedEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderErrorEvent;
+import com.geovannycode.ecommerce.events.OrderCancelledEvent;
+import com.geovannycode.ecommerce.events.OrderCreatedEvent;
+import com.geovannycode.ecommerce.events.OrderDeliveredEvent;
+import com.geovannycode.ecommerce.events.OrderErrorEvent;
 
 public interface NotificationUseCase {
     void sendOrderCreatedNotification(OrderCreatedEvent event);
@@ -1,9 +1,9 @@
 package com.geovannycode.ecommerce.notification.infrastructure.adapter.input.messaging;
 
-import com.geovannycode.ecommerce.notification.domain.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderCreatedEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.notification.domain.model.OrderErrorEvent;
+import com.geovannycode.ecommerce.events.OrderCancelledEvent;
+import com.geovannycode.ecommerce.events.OrderCreatedEvent;
+import com.geovannycode.ecommerce.events.OrderDeliveredEvent;
+import com.geovannycode.ecommerce.events.OrderErrorEvent;
 import com.geovannycode.ecommerce.notification.domain.port.input.NotificationUseCase;
 import com.geovannycode.ecommerce.notification.domain.port.output.OrderEventRepositoryPort;
 import com.geovannycode.ecommerce.notification.infrastructure.adapter.input.messaging.mapper.KafkaEventMapper;
@@ -32,24 +32,23 @@ public class KafkaOrderEventConsumer {
     }
 
     @KafkaListener(topics = "${notification.order-created-topic}")
-    public void handleOrderCreatedEvent(String message) {
+    public void handleOrderCreatedEvent(byte[] message) {
         try {
             log.info("Received OrderCreatedEvent message");
 
             OrderCreatedEvent event = kafkaEventMapper.mapToOrderCreatedEvent(message);
 
-            if (orderEventRepository.existsByEventId(event.getEventId())) {
-                log.warn("Received duplicate OrderCreatedEvent with eventId: {}", event.getEventId());
+            if (orderEventRepository.existsByEventId(event.eventId())) {
+                log.warn("Received duplicate OrderCreatedEvent with eventId: {}", event.eventId());
                 return;
             }
 
-            log.info("Processing OrderCreatedEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Processing OrderCreatedEvent with orderNumber: {}", event.orderNumber());
             notificationService.sendOrderCreatedNotification(event);
 
-            log.info("Received raw OrderCreatedEvent message: {}", message);
-            orderEventRepository.save(event.getEventId());
+            orderEventRepository.save(event.eventId());
 
-            log.info("Successfully processed OrderCreatedEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Successfully processed OrderCreatedEvent with orderNumber: {}", event.orderNumber());
 
         } catch (Exception e) {
             log.error("Error processing OrderCreatedEvent: {}", e.getMessage(), e);
@@ -57,24 +56,24 @@ public class KafkaOrderEventConsumer {
     }
 
     @KafkaListener(topics = "${notification.order-delivered-topic}")
-    public void handleOrderDeliveredEvent(String message) {
+    public void handleOrderDeliveredEvent(byte[] message) {
         try {
             log.info("Received OrderDeliveredEvent message");
 
             OrderDeliveredEvent event = kafkaEventMapper.mapToOrderDeliveredEvent(message);
 
-            if (orderEventRepository.existsByEventId(event.getEventId())) {
-                log.warn("Received duplicate OrderDeliveredEvent with eventId: {}", event.getEventId());
+            if (orderEventRepository.existsByEventId(event.eventId())) {
+                log.warn("Received duplicate OrderDeliveredEvent with eventId: {}", event.eventId());
                 return;
             }
 
-            log.info("Processing OrderDeliveredEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Processing OrderDeliveredEvent with orderNumber: {}", event.orderNumber());
 
             notificationService.sendOrderDeliveredNotification(event);
 
-            orderEventRepository.save(event.getEventId());
+            orderEventRepository.save(event.eventId());
 
-            log.info("Successfully processed OrderDeliveredEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Successfully processed OrderDeliveredEvent with orderNumber: {}", event.orderNumber());
 
         } catch (Exception e) {
             log.error("Error processing OrderDeliveredEvent: {}", e.getMessage(), e);
@@ -82,24 +81,24 @@ public class KafkaOrderEventConsumer {
     }
 
     @KafkaListener(topics = "${notification.order-cancelled-topic}")
-    public void handleOrderCancelledEvent(String message) {
+    public void handleOrderCancelledEvent(byte[] message) {
         try {
             log.info("Received OrderCancelledEvent message");
 
             OrderCancelledEvent event = kafkaEventMapper.mapToOrderCancelledEvent(message);
 
-            if (orderEventRepository.existsByEventId(event.getEventId())) {
-                log.warn("Received duplicate OrderCancelledEvent with eventId: {}", event.getEventId());
+            if (orderEventRepository.existsByEventId(event.eventId())) {
+                log.warn("Received duplicate OrderCancelledEvent with eventId: {}", event.eventId());
                 return;
             }
 
-            log.info("Processing OrderCancelledEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Processing OrderCancelledEvent with orderNumber: {}", event.orderNumber());
 
             notificationService.sendOrderCancelledNotification(event);
 
-            orderEventRepository.save(event.getEventId());
+            orderEventRepository.save(event.eventId());
 
-            log.info("Successfully processed OrderCancelledEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Successfully processed OrderCancelledEvent with orderNumber: {}", event.orderNumber());
 
         } catch (Exception e) {
             log.error("Error processing OrderCancelledEvent: {}", e.getMessage(), e);
@@ -107,7 +106,7 @@ public class KafkaOrderEventConsumer {
     }
 
     @KafkaListener(topics = "${notification.order-error-topic}")
-    public void handleOrderErrorEvent(String message) {
+    public void handleOrderErrorEvent(byte[] message) {
         try {
             log.info("Received OrderErrorEvent message");
 
@@ -115,20 +114,20 @@ public class KafkaOrderEventConsumer {
             OrderErrorEvent event = kafkaEventMapper.mapToOrderErrorEvent(message);
 
             // Verificar si ya hemos procesado este evento
-            if (orderEventRepository.existsByEventId(event.getEventId())) {
-                log.warn("Received duplicate OrderErrorEvent with eventId: {}", event.getEventId());
+            if (orderEventRepository.existsByEventId(event.eventId())) {
+                log.warn("Received duplicate OrderErrorEvent with eventId: {}", event.eventId());
                 return;
             }
 
-            log.info("Processing OrderErrorEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Processing OrderErrorEvent with orderNumber: {}", event.orderNumber());
 
             // Enviar la notificación
             notificationService.sendOrderErrorEventNotification(event);
 
             // Guardar el evento para evitar duplicados
-            orderEventRepository.save(event.getEventId());
+            orderEventRepository.save(event.eventId());
 
-            log.info("Successfully processed OrderErrorEvent with orderNumber: {}", event.getOrderNumber());
+            log.info("Successfully processed OrderErrorEvent with orderNumber: {}", event.orderNumber());
 
         } catch (Exception e) {
             log.error("Error processing OrderErrorEvent: {}", e.getMessage(), e);
@@ -3,11 +3,10 @@ package com.geovannycode.ecommerce.notification.events;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.events.OrderCancelledEvent;
+import com.geovannycode.ecommerce.events.OrderEvent;
+import com.geovannycode.ecommerce.events.OrderEventCodec;
 import com.geovannycode.ecommerce.notification.AbstractIT;
-import com.geovannycode.ecommerce.notification.domain.model.Address;
-import com.geovannycode.ecommerce.notification.domain.model.Customer;
-import com.geovannycode.ecommerce.notification.domain.model.OrderCancelledEvent;
 import com.geovannycode.ecommerce.notification.infrastructure.adapter.input.messaging.KafkaOrderEventConsumer;
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -24,16 +23,13 @@ public class DirectKafkaOrderEventConsumerTest extends AbstractIT {
     @Autowired
     private KafkaOrderEventConsumer kafkaOrderEventConsumer;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    private Customer customer;
-    private Address address;
+    private OrderEvent.Customer customer;
+    private OrderEvent.Address address;
 
     @BeforeEach
     void setUp() {
-        customer = new Customer("Geovanny", "geovanny@gmail.com", "999999999");
-        address = new Address("addr line 1", null, "Barranquilla", "ATL", "500072", "Colombia");
+        customer = new OrderEvent.Customer("Geovanny", "geovanny@gmail.com", "999999999");
+        address = new OrderEvent.Address("addr line 1", null, "Barranquilla", "ATL", "500072", "Colombia");
         Mockito.reset(notificationService);
     }
 
@@ -46,12 +42,8 @@ public class DirectKafkaOrderEventConsumerTest extends AbstractIT {
         var event = new OrderCancelledEvent(
                 eventId, orderNumber, Set.of(), customer, address, "test cancel reason", LocalDateTime.now());
 
-        // Convertir el objeto a JSON
-        String eventJson = objectMapper.writeValueAsString(event);
-        System.out.println("Evento JSON: " + eventJson);
-
         // Act - Llamar directamente al método del consumidor
-        kafkaOrderEventConsumer.handleOrderCancelledEvent(eventJson);
+        kafkaOrderEventConsumer.handleOrderCancelledEvent(OrderEventCodec.encode(event));
 
         // Assert - Verificar que se haya llamado al servicio de notificación
         verify(notificationService).sendOrderCancelledNotification(any());
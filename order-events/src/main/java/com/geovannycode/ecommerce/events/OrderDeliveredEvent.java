@@ -0,0 +1,13 @@
+package com.geovannycode.ecommerce.events;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record OrderDeliveredEvent(
+        String eventId,
+        String orderNumber,
+        Set<Item> items,
+        Customer customer,
+        Address deliveryAddress,
+        LocalDateTime createdAt)
+        implements OrderEvent {}
@@ -0,0 +1,14 @@
+package com.geovannycode.ecommerce.events;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record OrderErrorEvent(
+        String eventId,
+        String orderNumber,
+        Set<Item> items,
+        Customer customer,
+        Address deliveryAddress,
+        String reason,
+        LocalDateTime createdAt)
+        implements OrderEvent {}
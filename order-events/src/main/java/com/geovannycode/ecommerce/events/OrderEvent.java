@@ -0,0 +1,32 @@
+package com.geovannycode.ecommerce.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * An order lifecycle event as it travels between services. Producers and consumers share these types instead of
+ * keeping their own copies; {@link OrderEventCodec} defines how they are written to Kafka.
+ */
+public sealed interface OrderEvent
+        permits OrderCreatedEvent, OrderDeliveredEvent, OrderCancelledEvent, OrderErrorEvent {
+
+    String eventId();
+
+    String orderNumber();
+
+    Set<Item> items();
+
+    Customer customer();
+
+    Address deliveryAddress();
+
+    LocalDateTime createdAt();
+
+    record Item(String code, String name, BigDecimal price, Integer quantity) {}
+
+    record Customer(String name, String email, String phone) {}
+
+    record Address(
+            String addressLine1, String addressLine2, String city, String state, String zipCode, String country) {}
+}
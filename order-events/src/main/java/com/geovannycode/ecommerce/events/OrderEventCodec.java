@@ -0,0 +1,390 @@
+package com.geovannycode.ecommerce.events;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Binary wire format for {@link OrderEvent}s.
+ *
+ * <pre>
+ * magic (0xC5) | schema version | event type | body length (varint) | body
+ * </pre>
+ *
+ * The body holds the common fields in declaration order, followed by the reason for cancelled and error events.
+ * Strings are written as a varint of their UTF-8 length plus one (zero for null), numbers as zig-zag varints,
+ * decimals as unscaled value and scale, and timestamps as UTC epoch seconds and nanos. Later schema versions may
+ * only append fields to the body: readers stop after the fields they know and skip the rest using the body
+ * length, so consumers keep working while producers move ahead of them.
+ */
+public final class OrderEventCodec {
+    public static final int SCHEMA_VERSION = 1;
+
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final byte ORDER_CREATED = 1;
+    private static final byte ORDER_DELIVERED = 2;
+    private static final byte ORDER_CANCELLED = 3;
+    private static final byte ORDER_ERROR = 4;
+
+    private OrderEventCodec() {}
+
+    /** Tells encoded events apart from the JSON written by earlier producers. */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length > 3 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(OrderEvent event) {
+        Writer writer = new Writer();
+        writer.writeString(event.eventId());
+        writer.writeString(event.orderNumber());
+        writeItems(writer, event.items());
+        writeCustomer(writer, event.customer());
+        writeAddress(writer, event.deliveryAddress());
+        writer.writeTimestamp(event.createdAt());
+        byte type =
+                switch (event) {
+                    case OrderCreatedEvent created -> ORDER_CREATED;
+                    case OrderDeliveredEvent delivered -> ORDER_DELIVERED;
+                    case OrderCancelledEvent cancelled -> {
+                        writer.writeString(cancelled.reason());
+                        yield ORDER_CANCELLED;
+                    }
+                    case OrderErrorEvent error -> {
+                        writer.writeString(error.reason());
+                        yield ORDER_ERROR;
+                    }
+                };
+        return writer.toMessage(type);
+    }
+
+    public static OrderEvent decode(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new IllegalArgumentException("Not an encoded order event");
+        }
+        Reader reader = new Reader(data);
+        reader.readByte();
+        int version = reader.readByte() & 0xFF;
+        if (version < 1) {
+            throw new IllegalArgumentException("Unsupported order event schema version " + version);
+        }
+        byte type = reader.readByte();
+        reader.limitTo(reader.readVarint());
+
+        String eventId = reader.readString();
+        String orderNumber = reader.readString();
+        Set<OrderEvent.Item> items = readItems(reader);
+        OrderEvent.Customer customer = readCustomer(reader);
+        OrderEvent.Address address = readAddress(reader);
+        LocalDateTime createdAt = reader.readTimestamp();
+        return switch (type) {
+            case ORDER_CREATED -> new OrderCreatedEvent(eventId, orderNumber, items, customer, address, createdAt);
+            case ORDER_DELIVERED -> new OrderDeliveredEvent(eventId, orderNumber, items, customer, address, createdAt);
+            case ORDER_CANCELLED -> new OrderCancelledEvent(
+                    eventId, orderNumber, items, customer, address, reader.readString(), createdAt);
+            case ORDER_ERROR -> new OrderErrorEvent(
+                    eventId, orderNumber, items, customer, address, reader.readString(), createdAt);
+            default -> throw new IllegalArgumentException("Unknown order event type " + type);
+        };
+    }
+
+    public static <E extends OrderEvent> E decode(byte[] data, Class<E> eventType) {
+        OrderEvent event = decode(data);
+        if (!eventType.isInstance(event)) {
+            throw new IllegalArgumentException("Expected " + eventType.getSimpleName() + " but got "
+                    + event.getClass().getSimpleName());
+        }
+        return eventType.cast(event);
+    }
+
+    private static void writeItems(Writer writer, Set<OrderEvent.Item> items) {
+        if (items == null) {
+            writer.writeVarint(0);
+            return;
+        }
+        writer.writeVarint(items.size() + 1L);
+        for (OrderEvent.Item item : items) {
+            writer.writeString(item.code());
+            writer.writeString(item.name());
+            writer.writeDecimal(item.price());
+            writer.writeInteger(item.quantity());
+        }
+    }
+
+    private static Set<OrderEvent.Item> readItems(Reader reader) {
+        int size = reader.readLength();
+        if (size < 0) {
+            return null;
+        }
+        Set<OrderEvent.Item> items = HashSet.newHashSet(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new OrderEvent.Item(
+                    reader.readString(), reader.readString(), reader.readDecimal(), reader.readInteger()));
+        }
+        return items;
+    }
+
+    private static void writeCustomer(Writer writer, OrderEvent.Customer customer) {
+        writer.writeBoolean(customer != null);
+        if (customer != null) {
+            writer.writeString(customer.name());
+            writer.writeString(customer.email());
+            writer.writeString(customer.phone());
+        }
+    }
+
+    private static OrderEvent.Customer readCustomer(Reader reader) {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        return new OrderEvent.Customer(reader.readString(), reader.readString(), reader.readString());
+    }
+
+    private static void writeAddress(Writer writer, OrderEvent.Address address) {
+        writer.writeBoolean(address != null);
+        if (address != null) {
+            writer.writeString(address.addressLine1());
+            writer.writeString(address.addressLine2());
+            writer.writeString(address.city());
+            writer.writeString(address.state());
+            writer.writeString(address.zipCode());
+            writer.writeString(address.country());
+        }
+    }
+
+    private static OrderEvent.Address readAddress(Reader reader) {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+        return new OrderEvent.Address(
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString());
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes the body after a gap large enough for the header, so the finished message is produced with a single
+     * copy.
+     */
+    private static final class Writer {
+        private static final int HEADER_CAPACITY = 8;
+
+        private byte[] buffer = new byte[512];
+        private int position = HEADER_CAPACITY;
+
+        void writeBoolean(boolean value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) (value ? 1 : 0);
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInteger(Integer value) {
+            writeVarint(value == null ? 0 : zigZag(value) + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            if (isAscii(value)) {
+                int length = value.length();
+                writeVarint(length + 1L);
+                ensureCapacity(length);
+                for (int i = 0; i < length; i++) {
+                    buffer[position++] = (byte) value.charAt(i);
+                }
+                return;
+            }
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeDecimal(BigDecimal value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                writeVarint(1);
+                writeVarint(zigZag(unscaled.longValue()));
+            } else {
+                writeVarint(2);
+                writeBytes(unscaled.toByteArray());
+            }
+            writeVarint(zigZag(value.scale()));
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeVarint(zigZag(value.toEpochSecond(ZoneOffset.UTC)));
+                writeVarint(value.getNano());
+            }
+        }
+
+        byte[] toMessage(byte type) {
+            int bodyLength = position - HEADER_CAPACITY;
+            int start = HEADER_CAPACITY - 3 - varintSize(bodyLength);
+            int offset = start;
+            buffer[offset++] = MAGIC;
+            buffer[offset++] = SCHEMA_VERSION;
+            buffer[offset++] = type;
+            for (long value = bodyLength; ; value >>>= 7) {
+                if ((value & ~0x7FL) == 0) {
+                    buffer[offset] = (byte) value;
+                    break;
+                }
+                buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            }
+            return Arrays.copyOfRange(buffer, start, position);
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+
+        private static boolean isAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int varintSize(int value) {
+            int size = 1;
+            while ((value & ~0x7F) != 0) {
+                value >>>= 7;
+                size++;
+            }
+            return size;
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+        private int limit;
+
+        Reader(byte[] data) {
+            this.data = data;
+            this.limit = data.length;
+        }
+
+        void limitTo(long length) {
+            if (length > limit - position) {
+                throw new IllegalArgumentException("Truncated order event");
+            }
+            limit = position + (int) length;
+        }
+
+        byte readByte() {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated order event");
+            }
+            return data[position++];
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in order event");
+        }
+
+        Integer readInteger() {
+            long value = readVarint();
+            return value == 0 ? null : (int) unZigZag(value - 1);
+        }
+
+        String readString() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal readDecimal() {
+            long kind = readVarint();
+            BigInteger unscaled;
+            if (kind == 0) {
+                return null;
+            } else if (kind == 1) {
+                unscaled = BigInteger.valueOf(unZigZag(readVarint()));
+            } else if (kind == 2) {
+                int length = readLength();
+                if (length < 1) {
+                    throw new IllegalArgumentException("Malformed decimal in order event");
+                }
+                unscaled = new BigInteger(data, position, length);
+                position += length;
+            } else {
+                throw new IllegalArgumentException("Malformed decimal in order event");
+            }
+            return new BigDecimal(unscaled, (int) unZigZag(readVarint()));
+        }
+
+        LocalDateTime readTimestamp() {
+            if (!readBoolean()) {
+                return null;
+            }
+            long seconds = unZigZag(readVarint());
+            return LocalDateTime.ofEpochSecond(seconds, (int) readVarint(), ZoneOffset.UTC);
+        }
+
+        /** Reads a length or count written as its value plus one; returns -1 for null. */
+        int readLength() {
+            long length = readVarint() - 1;
+            if (length < -1 || length > limit - position) {
+                throw new IllegalArgumentException("Truncated order event");
+            }
+            return (int) length;
+        }
+    }
+}
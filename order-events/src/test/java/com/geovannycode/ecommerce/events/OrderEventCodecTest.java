@@ -0,0 +1,96 @@
+package com.geovannycode.ecommerce.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class OrderEventCodecTest {
+    private static final OrderEvent.Customer CUSTOMER =
+            new OrderEvent.Customer("Geovanny", "geovanny@gmail.com", "999999999");
+    private static final OrderEvent.Address ADDRESS =
+            new OrderEvent.Address("Calle 45 # 12-30", null, "Barranquilla", "Atlántico", "080001", "Colombia");
+    private static final Set<OrderEvent.Item> ITEMS = Set.of(
+            new OrderEvent.Item("P100", "The Hunger Games", new BigDecimal("34.00"), 2),
+            new OrderEvent.Item("P101", "To Kill a Mockingbird", new BigDecimal("45.40"), 1));
+
+    @Test
+    void shouldRoundTripEveryEventType() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_789);
+        Set<OrderEvent> events = Set.of(
+                new OrderCreatedEvent("e1", "ORD-1", ITEMS, CUSTOMER, ADDRESS, createdAt),
+                new OrderDeliveredEvent("e2", "ORD-1", ITEMS, CUSTOMER, ADDRESS, createdAt),
+                new OrderCancelledEvent("e3", "ORD-1", ITEMS, CUSTOMER, ADDRESS, "Customer request", createdAt),
+                new OrderErrorEvent("e4", "ORD-1", null, null, null, null, null));
+
+        for (OrderEvent event : events) {
+            byte[] encoded = OrderEventCodec.encode(event);
+
+            assertThat(OrderEventCodec.isEncoded(encoded)).isTrue();
+            assertThat(OrderEventCodec.decode(encoded)).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void shouldIgnoreFieldsAppendedByNewerSchemaVersions() {
+        OrderCancelledEvent event =
+                new OrderCancelledEvent("e1", "ORD-1", ITEMS, CUSTOMER, ADDRESS, "Out of stock", LocalDateTime.now());
+        byte[] encoded = OrderEventCodec.encode(event);
+
+        // version 2 appends a field longer than 127 bytes, so the body length also needs one more varint byte
+        byte[] extraField = new byte[200];
+        Arrays.fill(extraField, (byte) 42);
+        byte[] newer = reframe(encoded, 2, extraField);
+
+        assertThat(OrderEventCodec.decode(newer, OrderCancelledEvent.class)).isEqualTo(event);
+    }
+
+    @Test
+    void shouldRejectLegacyJsonAndTruncatedPayloads() {
+        byte[] json = "{\"eventId\":\"e1\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = OrderEventCodec.encode(
+                new OrderCreatedEvent("e1", "ORD-1", ITEMS, CUSTOMER, ADDRESS, LocalDateTime.now()));
+
+        assertThat(OrderEventCodec.isEncoded(json)).isFalse();
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> OrderEventCodec.decode(Arrays.copyOf(encoded, encoded.length - 5)));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> OrderEventCodec.decode(encoded, OrderDeliveredEvent.class));
+    }
+
+    /**
+     * Rebuilds an encoded event as a producer on {@code version} would write it: the original body followed by
+     * {@code extraField}, behind a header whose varint body length is re-encoded for the longer body.
+     */
+    private static byte[] reframe(byte[] encoded, int version, byte[] extraField) {
+        int offset = 3;
+        int bodyLength = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = encoded[offset++];
+            bodyLength |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(encoded[0]);
+        out.write(version);
+        out.write(encoded[2]);
+        for (int value = bodyLength + extraField.length; ; value >>>= 7) {
+            if ((value & ~0x7F) == 0) {
+                out.write(value);
+                break;
+            }
+            out.write((value & 0x7F) | 0x80);
+        }
+        out.write(encoded, offset, bodyLength);
+        out.writeBytes(extraField);
+        return out.toByteArray();
+    }
+}
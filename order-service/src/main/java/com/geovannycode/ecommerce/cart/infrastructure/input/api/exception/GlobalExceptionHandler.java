@@ -5,6 +5,7 @@ import java.net.URI;
 import java.time.Instant;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -26,6 +27,13 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    @ExceptionHandler(ErrorResponseException.class)
+    ProblemDetail handleErrorResponseException(ErrorResponseException e) {
+        ProblemDetail problemDetail = e.getBody();
+        problemDetail.setProperty("service", SERVICE_NAME);
+        return problemDetail;
+    }
+
     @ExceptionHandler(CartNotFoundException.class)
     ProblemDetail handleProductNotFoundException(CartNotFoundException e) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
@@ -1,8 +1,6 @@
 package com.geovannycode.ecommerce.cart.infrastructure.output.client.catalog;
 
 import com.geovannycode.ecommerce.order.ApplicationProperties;
-import java.time.Duration;
-import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
@@ -12,17 +10,12 @@ import org.springframework.web.client.RestClient;
 @Configuration
 class CatalogServiceClientConfig {
     @Bean
-    RestClient restClient(RestClient.Builder builder, ApplicationProperties properties) {
+    RestClient restClient(
+            RestClient.Builder builder, ClientHttpRequestFactory requestFactory, ApplicationProperties properties) {
         String catalogServiceUrl = properties.catalogServiceUrl();
         if (!StringUtils.hasText(catalogServiceUrl) || !catalogServiceUrl.startsWith("http")) {
             throw new IllegalArgumentException("Invalid catalogServiceUrl: " + catalogServiceUrl);
         }
-        ClientHttpRequestFactory requestFactory = ClientHttpRequestFactoryBuilder.simple()
-                .withCustomizer(customizer -> {
-                    customizer.setConnectTimeout(Duration.ofSeconds(5));
-                    customizer.setReadTimeout(Duration.ofSeconds(5));
-                })
-                .build();
         return builder.baseUrl(properties.catalogServiceUrl())
                 .requestFactory(requestFactory)
                 .build();
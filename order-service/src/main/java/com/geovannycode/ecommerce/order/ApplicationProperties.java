@@ -1,6 +1,8 @@
 package com.geovannycode.ecommerce.order;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "app")
 public record ApplicationProperties(
@@ -10,4 +12,112 @@ public record ApplicationProperties(
         String newOrdersTopic,
         String deliveredOrdersTopic,
         String cancelledOrdersTopic,
-        String errorOrdersTopic) {}
+        String errorOrdersTopic,
+        @DefaultValue Outbox outbox,
+        @DefaultValue Processing processing,
+        @DefaultValue History history,
+        @DefaultValue("500") int maxBulkOrders,
+        @DefaultValue("500") int importChunkSize,
+        @DefaultValue("65536") int importMaxLineLength,
+        @DefaultValue Idempotency idempotency,
+        @DefaultValue Checkout checkout,
+        @DefaultValue Validation validation,
+        @DefaultValue Http http,
+        @DefaultValue Payment payment,
+        @DefaultValue Partitioning partitioning,
+        @DefaultValue StatusStream statusStream) {
+
+    /**
+     * Outbox relay tuning. The relay polls at {@code minPollInterval} while there is work, backs off towards
+     * {@code maxPollInterval} when idle and polls again immediately while batches come back full.
+     */
+    public record Outbox(
+            @DefaultValue("100") int batchSize,
+            @DefaultValue("50ms") Duration minPollInterval,
+            @DefaultValue("2s") Duration maxPollInterval,
+            @DefaultValue("10s") Duration sendTimeout) {}
+
+    /**
+     * Scheduled order processing splits each status into {@code partitions} buckets by order number hash and
+     * works through them on {@code workers} threads, in chunks of {@code chunkSize}, one transaction each.
+     */
+    public record Processing(
+            @DefaultValue("500") int chunkSize, @DefaultValue("8") int partitions, @DefaultValue("4") int workers) {}
+
+    /**
+     * Staged status history is moved into the history table in batches of up to {@code batchSize}, polling every
+     * {@code flushInterval} while there is less than a full batch waiting.
+     */
+    public record History(@DefaultValue("500") int batchSize, @DefaultValue("200ms") Duration flushInterval) {}
+
+    /**
+     * Completed idempotency keys are kept for {@code ttl}. A key claimed by a request that dies mid-flight
+     * expires after {@code inFlightTtl}; duplicates wait up to {@code waitTimeout} for the first request.
+     */
+    public record Idempotency(
+            @DefaultValue("24h") Duration ttl,
+            @DefaultValue("30s") Duration inFlightTtl,
+            @DefaultValue("10s") Duration waitTimeout) {}
+
+    /**
+     * Asynchronous checkout runs at most {@code maxInFlight} orders at once. Orders still pending after
+     * {@code pendingTimeout}, e.g. because the instance stopped mid-checkout, are moved to error.
+     */
+    public record Checkout(@DefaultValue("200") int maxInFlight, @DefaultValue("15m") Duration pendingTimeout) {}
+
+    /**
+     * Catalog lookups during order validation are sent in batches of {@code batchSize} codes, at most
+     * {@code parallelism} at a time per validation and {@code maxConcurrentCalls} at a time overall.
+     */
+    public record Validation(
+            @DefaultValue("100") int batchSize,
+            @DefaultValue("4") int parallelism,
+            @DefaultValue("64") int maxConcurrentCalls) {}
+
+    /**
+     * Outbound HTTP to the catalog and payment services shares one connection pool. Idle connections are kept
+     * for at most {@code keepAlive}; with {@code http2} enabled the JDK client is used instead, multiplexing
+     * requests over one connection per host, and only the connect and read timeouts apply.
+     */
+    public record Http(
+            @DefaultValue("5s") Duration connectTimeout,
+            @DefaultValue("5s") Duration readTimeout,
+            @DefaultValue("2s") Duration connectionRequestTimeout,
+            @DefaultValue("200") int maxConnections,
+            @DefaultValue("50") int maxConnectionsPerHost,
+            @DefaultValue("30s") Duration keepAlive,
+            @DefaultValue("false") boolean http2) {}
+
+    /**
+     * A hedged second payment authorization is sent after {@code hedgeDelay}; zero disables hedging. Creating
+     * several orders at once authorizes at most {@code authorizationParallelism} of their payments at a time.
+     */
+    public record Payment(@DefaultValue("0s") Duration hedgeDelay, @DefaultValue("8") int authorizationParallelism) {}
+
+    /**
+     * Orders, their items, order events and status history are partitioned by month. Partitions are created
+     * {@code premadeMonths} ahead; once older than their table's retention they are exported as gzip-compressed
+     * CSV below {@code archiveDirectory} and dropped.
+     */
+    public record Partitioning(
+            @DefaultValue("3") int premadeMonths,
+            @DefaultValue("24") int ordersRetentionMonths,
+            @DefaultValue("3") int eventsRetentionMonths,
+            @DefaultValue("12") int historyRetentionMonths,
+            @DefaultValue("archive") String archiveDirectory) {}
+
+    /**
+     * Live status updates are streamed to subscribers over server-sent events and shared between replicas through
+     * {@code topic}. A stream is closed after {@code timeout}, and a heartbeat is sent every
+     * {@code heartbeatInterval} so idle connections stay open and dead ones are noticed. A stream buffers at most
+     * {@code queueCapacity} events for a slow client and is closed once that is exceeded. Each replica reads the
+     * topic in a consumer group named after {@code instanceId}, which defaults to the host name and has to be set
+     * when several replicas share a host.
+     */
+    public record StatusStream(
+            @DefaultValue("order-status-updates-topic") String topic,
+            @DefaultValue("30m") Duration timeout,
+            @DefaultValue("15s") Duration heartbeatInterval,
+            @DefaultValue("64") int queueCapacity,
+            String instanceId) {}
+}
@@ -0,0 +1,9 @@
+package com.geovannycode.ecommerce.order.application.dto;
+
+/** State stored for an idempotency key; {@code orderNumber} is null while the first request is in flight. */
+public record IdempotencyRecord(String fingerprint, String orderNumber) {
+
+    public boolean completed() {
+        return orderNumber != null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.geovannycode.ecommerce.order.application.dto;
+
+import java.util.List;
+
+/** One page of order summaries; {@code nextCursor} is null on the last page. */
+public record OrderPage(List<OrderSummary> orders, String nextCursor) {}
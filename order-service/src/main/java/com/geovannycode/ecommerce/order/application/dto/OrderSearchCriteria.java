@@ -0,0 +1,12 @@
+package com.geovannycode.ecommerce.order.application.dto;
+
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filters for a user's order listing. Empty or null {@code statuses} means any status; {@code createdFrom} is
+ * inclusive and {@code createdTo} exclusive, either may be null.
+ */
+public record OrderSearchCriteria(
+        Set<OrderStatus> statuses, LocalDateTime createdFrom, LocalDateTime createdTo, boolean oldestFirst) {}
@@ -0,0 +1,5 @@
+package com.geovannycode.ecommerce.order.application.dto;
+
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+
+public record OrderStatusChange(String orderNumber, OrderStatus status, String comments) {}
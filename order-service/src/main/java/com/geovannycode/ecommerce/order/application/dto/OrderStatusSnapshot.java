@@ -0,0 +1,5 @@
+package com.geovannycode.ecommerce.order.application.dto;
+
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+
+public record OrderStatusSnapshot(OrderStatus status, long version, String userName) {}
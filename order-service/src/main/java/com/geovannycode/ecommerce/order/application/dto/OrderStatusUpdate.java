@@ -0,0 +1,8 @@
+package com.geovannycode.ecommerce.order.application.dto;
+
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+
+/** A committed status change, as pushed to clients following the order or its owner. */
+public record OrderStatusUpdate(
+        String orderNumber, String userName, OrderStatus status, String comments, LocalDateTime changedAt) {}
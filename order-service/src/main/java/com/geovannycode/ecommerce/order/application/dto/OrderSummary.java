@@ -1,5 +1,6 @@
 package com.geovannycode.ecommerce.order.application.dto;
 
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.time.LocalDateTime;
 
-public record OrderSummary(String orderNumber, OrderStatus status) {}
+public record OrderSummary(String orderNumber, OrderStatus status, LocalDateTime createdAt) {}
@@ -1,186 +1,254 @@
 package com.geovannycode.ecommerce.order.application.job;
 
-import com.geovannycode.ecommerce.order.application.ports.output.OrderEventRepository;
-import com.geovannycode.ecommerce.order.application.service.OrderEventService;
-import com.geovannycode.ecommerce.order.application.service.OrderService;
-import com.geovannycode.ecommerce.order.common.model.Address;
-import com.geovannycode.ecommerce.order.common.model.Customer;
-import com.geovannycode.ecommerce.order.common.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderErrorEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderItem;
-import com.geovannycode.ecommerce.order.common.model.enums.OrderEventType;
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
+import com.geovannycode.ecommerce.order.application.service.OrderStatusService;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves orders through their lifecycle. Each status is split into partitions by order number hash, and each
+ * partition is leased through ShedLock, so every replica's worker pool picks up different partitions. Within a
+ * partition orders are processed in keyset-paged chunks; every chunk is locked, transitioned with set-based
+ * updates and committed in its own transaction. A chunk that fails is retried one order at a time, and an order
+ * that still fails is moved to error.
+ */
 @Component
-public class OrderProcessingJob {
+public class OrderProcessingJob implements DisposableBean {
     private static final Logger log = org.slf4j.LoggerFactory.getLogger(OrderProcessingJob.class);
-    private final OrderService orderService;
-    private final OrderEventService orderEventService;
-    private final OrderEventRepository orderEventRepository;
+    private static final List<String> ALLOWED_COUNTRIES = List.of("BRASIL", "INDIA", "USA", "GERMANY", "COLOMBIA");
+    private static final Duration PARTITION_LOCK_AT_MOST_FOR = Duration.ofMinutes(10);
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusService orderStatusService;
+    private final TransactionTemplate transactionTemplate;
+    private final LockingTaskExecutor lockingTaskExecutor;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final int partitions;
+    private final Duration pendingTimeout;
 
     public OrderProcessingJob(
-            OrderService orderService, OrderEventService orderEventService, OrderEventRepository orderEventRepository) {
-        this.orderService = orderService;
-        this.orderEventService = orderEventService;
-        this.orderEventRepository = orderEventRepository;
+            OrderRepository orderRepository,
+            OrderStatusService orderStatusService,
+            TransactionTemplate transactionTemplate,
+            LockProvider lockProvider,
+            ApplicationProperties properties) {
+        this.orderRepository = orderRepository;
+        this.orderStatusService = orderStatusService;
+        this.transactionTemplate = transactionTemplate;
+        this.lockingTaskExecutor = new DefaultLockingTaskExecutor(lockProvider);
+        this.workers = Executors.newFixedThreadPool(
+                properties.processing().workers(),
+                Thread.ofPlatform().name("order-processing-", 0).factory());
+        this.chunkSize = properties.processing().chunkSize();
+        this.partitions = properties.processing().partitions();
+        this.pendingTimeout = properties.checkout().pendingTimeout();
     }
 
     @Scheduled(fixedDelay = 60000)
-    @Transactional
     public void processNewOrders() {
-        List<OrderEntity> newOrders = orderService.findOrdersByStatus(OrderStatus.NEW);
-        log.info("Found {} new orders to process", newOrders.size());
-
-        for (OrderEntity order : newOrders) {
-            orderService.updateOrderStatus(order.getOrderNumber(), OrderStatus.IN_PROCESS, "Order in process");
-            log.info("Published OrderCreatedEvent for orderId:{}", order.getOrderNumber());
-        }
+        int processed = processPartitions(
+                OrderStatus.NEW,
+                orders -> orderStatusService.updateOrderStatuses(orders, OrderStatus.IN_PROCESS, "Order in process"));
+        log.info("Processed {} new orders", processed);
     }
 
     @Scheduled(fixedDelay = 60000)
-    @Transactional
     public void processPaymentRejectedOrders() {
-        List<OrderEntity> orders = orderService.findOrdersByStatus(OrderStatus.PAYMENT_REJECTED);
-        log.info("Found {} payment rejected orders to process", orders.size());
-        for (OrderEntity order : orders) {
-            orderService.updateOrderStatus(order.getOrderNumber(), OrderStatus.ERROR, "Payment rejected");
-
-            if (!hasRecentEvent(order.getOrderNumber(), OrderEventType.ORDER_PROCESSING_FAILED)) {
-                OrderErrorEvent errorEvent = buildOrderErrorEvent(order, "Payment rejected");
-                orderEventService.save(errorEvent);
-                log.info("Published OrderErrorEvent for orderId:{}", order.getOrderNumber());
-            } else {
-                log.info("Skipped publishing duplicate OrderErrorEvent for orderId:{}", order.getOrderNumber());
-            }
-        }
+        int processed = processPartitions(
+                OrderStatus.PAYMENT_REJECTED,
+                orders -> orderStatusService.updateOrderStatuses(
+                        withItems(orders), OrderStatus.ERROR, "Payment rejected"));
+        log.info("Processed {} payment rejected orders", processed);
     }
 
-    private OrderErrorEvent buildOrderErrorEvent(OrderEntity order, String reason) {
-        return new OrderErrorEvent(
-                UUID.randomUUID().toString(),
-                order.getOrderNumber(),
-                getOrderItems(order),
-                getCustomer(order),
-                getDeliveryAddress(order),
-                reason,
-                LocalDateTime.now());
+    @Scheduled(fixedDelay = 60000)
+    public void processInProcessOrders() {
+        int processed = processPartitions(OrderStatus.IN_PROCESS, orders -> {
+            Map<Boolean, List<OrderEntity>> byDeliverable = withItems(orders).stream()
+                    .collect(Collectors.partitioningBy(order ->
+                            canDeliverToCountry(order.getDeliveryAddress().getCountry())));
+            orderStatusService.updateOrderStatuses(
+                    byDeliverable.get(true), OrderStatus.DELIVERED, "Order delivered successfully");
+            orderStatusService.updateOrderStatuses(
+                    byDeliverable.get(false), OrderStatus.CANCELLED, "Cannot deliver to this location");
+        });
+        log.info("Processed {} in-process orders", processed);
     }
 
-    private Set<OrderItem> getOrderItems(OrderEntity order) {
-        return order.getItems().stream()
-                .map(item -> new OrderItem(item.getCode(), item.getName(), item.getPrice(), item.getQuantity()))
-                .collect(Collectors.toSet());
+    /**
+     * Fails orders whose asynchronous checkout never finished, e.g. because their instance was stopped. No error
+     * event is published for them, since their creation never was.
+     */
+    @Scheduled(fixedDelay = 60000)
+    @SchedulerLock(name = "order-processing-stale-pending")
+    public void processStalePendingOrders() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(pendingTimeout);
+        int processed = 0;
+        while (true) {
+            List<OrderEntity> chunk = transactionTemplate.execute(tx -> {
+                List<OrderEntity> orders =
+                        orderRepository.lockCreatedBeforeByStatus(OrderStatus.PENDING, createdBefore, chunkSize);
+                if (!orders.isEmpty()) {
+                    orderStatusService.updateOrderStatuses(orders, OrderStatus.ERROR, "Checkout did not complete");
+                }
+                return orders;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            processed += chunk.size();
+        }
+        log.info("Processed {} stale pending orders", processed);
     }
 
-    private Customer getCustomer(OrderEntity order) {
-        Customer entityCustomer = order.getCustomer();
-        return new Customer(entityCustomer.getName(), entityCustomer.getEmail(), entityCustomer.getPhone());
+    private int processPartitions(OrderStatus status, Consumer<List<OrderEntity>> transition) {
+        List<Future<Integer>> results = IntStream.range(0, partitions)
+                .mapToObj(partition -> workers.submit(() -> processPartition(status, partition, transition)))
+                .toList();
+        int processed = 0;
+        for (Future<Integer> result : results) {
+            try {
+                processed += result.get();
+            } catch (ExecutionException e) {
+                log.error("Failed to process {} orders partition", status, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return processed;
+            }
+        }
+        return processed;
     }
 
-    private Address getDeliveryAddress(OrderEntity order) {
-        Address entityAddress = order.getDeliveryAddress();
-        return new Address(
-                entityAddress.getAddressLine1(),
-                entityAddress.getAddressLine2(),
-                entityAddress.getCity(),
-                entityAddress.getState(),
-                entityAddress.getZipCode(),
-                entityAddress.getCountry());
+    private int processPartition(OrderStatus status, int partition, Consumer<List<OrderEntity>> transition) {
+        String lockName = "order-processing-" + status.name().toLowerCase() + "-" + partition;
+        LockConfiguration lock =
+                new LockConfiguration(Instant.now(), lockName, PARTITION_LOCK_AT_MOST_FOR, Duration.ZERO);
+        AtomicInteger processed = new AtomicInteger();
+        lockingTaskExecutor.executeWithLock(
+                (Runnable) () -> processed.set(processInChunks(status, partition, transition)), lock);
+        return processed.get();
     }
 
-    @Scheduled(fixedDelay = 60000)
-    @Transactional
-    public void processInProcessOrders() {
-        List<OrderEntity> inProcessOrders = orderService.findOrdersByStatus(OrderStatus.IN_PROCESS);
-        log.info("Found {} in-process orders to process", inProcessOrders.size());
+    private int processInChunks(OrderStatus status, int partition, Consumer<List<OrderEntity>> transition) {
+        long afterId = 0;
+        int processed = 0;
+        while (true) {
+            long cursor = afterId;
+            List<OrderEntity> chunk;
+            try {
+                chunk = transactionTemplate.execute(
+                        tx -> lockAndTransition(status, partition, cursor, chunkSize, transition));
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Chunk of {} orders after id {} failed, processing it order by order: {}",
+                        status,
+                        cursor,
+                        e.getMessage());
+                chunk = processOneByOne(status, partition, cursor, transition);
+            }
+            if (chunk == null || chunk.isEmpty()) {
+                return processed;
+            }
+            processed += chunk.size();
+            afterId = chunk.getLast().getId();
+            if (chunk.size() < chunkSize) {
+                return processed;
+            }
+        }
+    }
 
-        for (OrderEntity order : inProcessOrders) {
+    /**
+     * Works through the orders of a failed chunk in one transaction each. An order that still fails is moved to
+     * error on its own, so it can't hold back the rest of its partition on every run.
+     */
+    private List<OrderEntity> processOneByOne(
+            OrderStatus status, int partition, long afterId, Consumer<List<OrderEntity>> transition) {
+        List<OrderEntity> processed = new ArrayList<>();
+        long cursor = afterId;
+        while (processed.size() < chunkSize) {
+            long next = cursor;
+            AtomicReference<OrderEntity> current = new AtomicReference<>();
             try {
-                if (canDeliverToCountry(order.getDeliveryAddress().getCountry())) {
-                    log.info("OrderNumber: {} can be delivered", order.getOrderNumber());
-                    orderService.updateOrderStatus(
-                            order.getOrderNumber(), OrderStatus.DELIVERED, "Order delivered successfully");
-
-                    if (!hasRecentEvent(order.getOrderNumber(), OrderEventType.ORDER_DELIVERED)) {
-                        OrderDeliveredEvent deliveredEvent = new OrderDeliveredEvent(
-                                UUID.randomUUID().toString(),
-                                order.getOrderNumber(),
-                                getOrderItems(order),
-                                getCustomer(order),
-                                getDeliveryAddress(order),
-                                LocalDateTime.now());
-                        orderEventService.save(deliveredEvent);
-                        log.info("Published OrderDeliveredEvent for orderId:{}", order.getOrderNumber());
-                    } else {
-                        log.info(
-                                "Skipped publishing duplicate OrderDeliveredEvent for orderId:{}",
-                                order.getOrderNumber());
-                    }
-                } else {
-                    log.info("OrderNumber: {} cannot be delivered", order.getOrderNumber());
-                    orderService.updateOrderStatus(
-                            order.getOrderNumber(), OrderStatus.CANCELLED, "Cannot deliver to this location");
-
-                    if (!hasRecentEvent(order.getOrderNumber(), OrderEventType.ORDER_CANCELLED)) {
-                        OrderCancelledEvent cancelledEvent = new OrderCancelledEvent(
-                                UUID.randomUUID().toString(),
-                                order.getOrderNumber(),
-                                getOrderItems(order),
-                                getCustomer(order),
-                                getDeliveryAddress(order),
-                                "Cannot deliver to this location",
-                                LocalDateTime.now());
-                        orderEventService.save(cancelledEvent);
-                        log.info("Published OrderCancelledEvent for orderId:{}", order.getOrderNumber());
-                    } else {
-                        log.info(
-                                "Skipped publishing duplicate OrderCancelledEvent for orderId:{}",
-                                order.getOrderNumber());
+                List<OrderEntity> orders = transactionTemplate.execute(tx -> {
+                    List<OrderEntity> locked = orderRepository.lockNextByStatus(status, partition, partitions, next, 1);
+                    if (!locked.isEmpty()) {
+                        current.set(locked.getFirst());
+                        transition.accept(locked);
                     }
+                    return locked;
+                });
+                if (orders == null || orders.isEmpty()) {
+                    return processed;
                 }
-            } catch (Exception e) {
-                log.error("Error processing order {}: {}", order.getOrderNumber(), e.getMessage(), e);
-                orderService.updateOrderStatus(
-                        order.getOrderNumber(), OrderStatus.ERROR, "Processing error: " + e.getMessage());
-
-                if (!hasRecentEvent(order.getOrderNumber(), OrderEventType.ORDER_PROCESSING_FAILED)) {
-                    OrderErrorEvent errorEvent = new OrderErrorEvent(
-                            UUID.randomUUID().toString(),
-                            order.getOrderNumber(),
-                            getOrderItems(order),
-                            getCustomer(order),
-                            getDeliveryAddress(order),
-                            "Processing error: " + e.getMessage(),
-                            LocalDateTime.now());
-                    orderEventService.save(errorEvent);
-                    log.info("Published OrderErrorEvent for orderId:{}", order.getOrderNumber());
-                } else {
-                    log.info("Skipped publishing duplicate OrderErrorEvent for orderId:{}", order.getOrderNumber());
+            } catch (RuntimeException e) {
+                if (current.get() == null) {
+                    throw e;
                 }
+                moveToError(current.get().getOrderNumber(), status, e);
             }
+            processed.add(current.get());
+            cursor = current.get().getId();
         }
+        return processed;
     }
 
-    private boolean hasRecentEvent(String orderNumber, OrderEventType eventType) {
-        LocalDateTime cutoffTime = LocalDateTime.now().minus(24, ChronoUnit.HOURS);
-        return orderEventRepository.existsByOrderNumberAndEventTypeAndCreatedAtAfter(
-                orderNumber, eventType, cutoffTime);
+    private void moveToError(String orderNumber, OrderStatus status, RuntimeException cause) {
+        log.error("Error processing order {}: {}", orderNumber, cause.getMessage(), cause);
+        try {
+            transactionTemplate.executeWithoutResult(tx -> orderStatusService.updateOrderStatusIfCurrent(
+                    orderNumber, status, OrderStatus.ERROR, "Processing error: " + cause.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Failed to move order {} to error", orderNumber, e);
+        }
+    }
+
+    private List<OrderEntity> lockAndTransition(
+            OrderStatus status, int partition, long afterId, int limit, Consumer<List<OrderEntity>> transition) {
+        List<OrderEntity> orders = orderRepository.lockNextByStatus(status, partition, partitions, afterId, limit);
+        if (!orders.isEmpty()) {
+            transition.accept(orders);
+        }
+        return orders;
+    }
+
+    private List<OrderEntity> withItems(List<OrderEntity> orders) {
+        return orderRepository.findAllWithItems(
+                orders.stream().map(OrderEntity::getId).toList());
     }
 
     private boolean canDeliverToCountry(String country) {
-        List<String> allowedCountries = List.of("BRASIL", "INDIA", "USA", "GERMANY", "COLOMBIA");
-        return allowedCountries.contains(country.toUpperCase());
+        return ALLOWED_COUNTRIES.contains(country.toUpperCase());
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
     }
 }
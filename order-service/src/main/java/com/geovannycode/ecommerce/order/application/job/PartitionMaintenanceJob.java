@@ -0,0 +1,110 @@
+package com.geovannycode.ecommerce.order.application.job;
+
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderEventRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.PartitionRepository;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly partitions of the order tables in shape. Partitions are created a few months ahead, and
+ * partitions older than their table's retention are detached, exported to the archive directory and dropped, so
+ * indexes and vacuum only ever deal with recent months. Orders are archived together with their items; a month
+ * that still holds open orders or unpublished events is kept until they are done. Event dedupe keys are
+ * removed once the events they guarded are past retention.
+ */
+@Component
+public class PartitionMaintenanceJob {
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    private final PartitionRepository partitionRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final List<PartitionedTable> tables;
+    private final int premadeMonths;
+    private final Path archiveDirectory;
+    private final int eventKeyRetentionMonths;
+
+    public PartitionMaintenanceJob(
+            PartitionRepository partitionRepository,
+            OrderEventRepository orderEventRepository,
+            ApplicationProperties properties) {
+        ApplicationProperties.Partitioning partitioning = properties.partitioning();
+        this.partitionRepository = partitionRepository;
+        this.orderEventRepository = orderEventRepository;
+        this.tables = List.of(
+                new PartitionedTable("orders", partitioning.ordersRetentionMonths(), List.of("order_items")),
+                new PartitionedTable("order_events", partitioning.eventsRetentionMonths(), List.of()),
+                new PartitionedTable("order_status_history", partitioning.historyRetentionMonths(), List.of()));
+        this.premadeMonths = partitioning.premadeMonths();
+        this.archiveDirectory = Path.of(partitioning.archiveDirectory());
+        this.eventKeyRetentionMonths = partitioning.eventsRetentionMonths();
+    }
+
+    @Scheduled(fixedDelay = 6, timeUnit = TimeUnit.HOURS)
+    @SchedulerLock(name = "order-partition-maintenance")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        for (PartitionedTable table : tables) {
+            try {
+                createPartitions(table, currentMonth);
+                detachExpiredPartitions(table, currentMonth.minusMonths(table.retentionMonths()));
+                archiveDetachedPartitions(table.name());
+                table.children().forEach(this::archiveDetachedPartitions);
+            } catch (RuntimeException e) {
+                log.error("Partition maintenance of {} failed", table.name(), e);
+            }
+        }
+        int deletedKeys = orderEventRepository.deleteEventKeysCreatedBefore(
+                currentMonth.minusMonths(eventKeyRetentionMonths).atDay(1).atStartOfDay());
+        log.info("Deleted {} expired order event keys", deletedKeys);
+    }
+
+    private void createPartitions(PartitionedTable table, YearMonth currentMonth) {
+        for (int i = 0; i <= premadeMonths; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            partitionRepository.createPartition(table.name(), month);
+            table.children().forEach(child -> partitionRepository.createPartition(child, month));
+        }
+    }
+
+    /** Children are detached once their parent's partition for the same month is gone. */
+    private void detachExpiredPartitions(PartitionedTable table, YearMonth cutoff) {
+        for (YearMonth month : partitionRepository.findAttachedPartitions(table.name())) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            if (partitionRepository.hasActiveRows(table.name(), month)) {
+                log.warn("Keeping {} partition for {}: it still has active rows", table.name(), month);
+                continue;
+            }
+            partitionRepository.detachPartition(table.name(), month);
+            log.info("Detached {} partition for {}", table.name(), month);
+        }
+
+        List<YearMonth> attached = partitionRepository.findAttachedPartitions(table.name());
+        for (String child : table.children()) {
+            for (YearMonth month : partitionRepository.findAttachedPartitions(child)) {
+                if (month.isBefore(cutoff) && !attached.contains(month)) {
+                    partitionRepository.detachPartition(child, month);
+                    log.info("Detached {} partition for {}", child, month);
+                }
+            }
+        }
+    }
+
+    private void archiveDetachedPartitions(String table) {
+        for (YearMonth month : partitionRepository.findDetachedPartitions(table)) {
+            Path file = partitionRepository.archivePartition(table, month, archiveDirectory);
+            log.info("Archived {} partition for {} to {}", table, month, file);
+        }
+    }
+
+    private record PartitionedTable(String name, int retentionMonths, List<String> children) {}
+}
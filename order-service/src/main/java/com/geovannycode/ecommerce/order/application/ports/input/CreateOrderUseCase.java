@@ -2,7 +2,10 @@ package com.geovannycode.ecommerce.order.application.ports.input;
 
 import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import java.util.List;
 
 public interface CreateOrderUseCase {
     CreateOrderResponse createOrder(String userName, CreateOrderRequest request);
+
+    List<CreateOrderResponse> createOrders(String userName, List<CreateOrderRequest> requests);
 }
@@ -1,8 +1,9 @@
 package com.geovannycode.ecommerce.order.application.ports.input;
 
-import com.geovannycode.ecommerce.order.application.dto.OrderSummary;
-import java.util.List;
+import com.geovannycode.ecommerce.order.application.dto.OrderPage;
+import com.geovannycode.ecommerce.order.application.dto.OrderSearchCriteria;
 
 public interface FindOrdersUseCase {
-    List<OrderSummary> findOrders(String userName);
+    /** Returns up to {@code size} of the user's orders after {@code cursor}, or from the start if it is null. */
+    OrderPage findOrders(String userName, OrderSearchCriteria criteria, String cursor, int size);
 }
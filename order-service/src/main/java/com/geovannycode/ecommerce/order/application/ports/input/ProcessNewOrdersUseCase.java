@@ -1,5 +0,0 @@
-package com.geovannycode.ecommerce.order.application.ports.input;
-
-public interface ProcessNewOrdersUseCase {
-    void processNewOrders();
-}
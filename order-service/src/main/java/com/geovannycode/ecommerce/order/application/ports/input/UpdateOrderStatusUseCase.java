@@ -1,9 +1,17 @@
 package com.geovannycode.ecommerce.order.application.ports.input;
 
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusChange;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.util.List;
 
 public interface UpdateOrderStatusUseCase {
     void updateOrderStatus(String orderNumber, OrderStatus status, String comments);
 
     void updateOrderStatus(String orderNumber, OrderStatus status, String comments, String changedBy);
+
+    /**
+     * Applies status changes for many orders in one transaction. Changes for unknown orders, or that are not
+     * valid transitions, are skipped. Returns the number of orders moved.
+     */
+    int updateOrderStatuses(List<OrderStatusChange> changes);
 }
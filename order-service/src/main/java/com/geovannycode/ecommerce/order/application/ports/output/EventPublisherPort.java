@@ -1,16 +1,13 @@
 package com.geovannycode.ecommerce.order.application.ports.output;
 
-import com.geovannycode.ecommerce.order.common.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderCreatedEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderErrorEvent;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
+import java.util.concurrent.CompletableFuture;
 
 public interface EventPublisherPort {
-    void publish(OrderCreatedEvent event);
-
-    void publish(OrderDeliveredEvent event);
-
-    void publish(OrderCancelledEvent event);
-
-    void publish(OrderErrorEvent event);
+    /**
+     * Sends an outbox row's stored payload unchanged, keyed by order number. The future completes once the
+     * broker has acknowledged the record; callers that need an order's events in sequence wait for it before
+     * sending the next one.
+     */
+    CompletableFuture<Void> publish(OrderEventEntity event);
 }
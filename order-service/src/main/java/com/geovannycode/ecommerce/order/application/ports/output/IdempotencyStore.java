@@ -0,0 +1,17 @@
+package com.geovannycode.ecommerce.order.application.ports.output;
+
+import com.geovannycode.ecommerce.order.application.dto.IdempotencyRecord;
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /** Claims the key for a new request. Returns false if the key is already claimed or completed. */
+    boolean claim(String key, String fingerprint, Duration ttl);
+
+    Optional<IdempotencyRecord> find(String key);
+
+    void complete(String key, String fingerprint, String orderNumber, Duration ttl);
+
+    void release(String key);
+}
@@ -1,14 +1,21 @@
 package com.geovannycode.ecommerce.order.application.ports.output;
 
-import com.geovannycode.ecommerce.order.common.model.enums.OrderEventType;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Sort;
 
 public interface OrderEventRepository {
-    void save(OrderEventEntity orderEventEntity);
+    /**
+     * Inserts the event unless an event with the same key was written before, in a single statement. Returns
+     * whether the event was inserted.
+     */
+    boolean save(OrderEventEntity orderEventEntity);
+
+    /** Batch version of {@link #save(OrderEventEntity)}; returns the number of events inserted. */
+    int saveAll(List<OrderEventEntity> orderEventEntities);
 
     List<OrderEventEntity> findAll(Sort sort);
 
@@ -16,10 +23,14 @@ public interface OrderEventRepository {
 
     Optional<OrderEventEntity> findById(Long id);
 
-    boolean existsByEventId(String eventId);
+    /**
+     * Locks every unpublished event of up to {@code limit} orders for the current transaction, oldest orders
+     * first, skipping orders already claimed by another relay. Events are returned in creation order.
+     */
+    List<OrderEventEntity> claimUnpublished(int limit);
 
-    List<OrderEventEntity> findByPublishedFalse(Sort sort);
+    void markPublished(Collection<Long> ids);
 
-    boolean existsByOrderNumberAndEventTypeAndCreatedAtAfter(
-            String orderNumber, OrderEventType eventType, LocalDateTime createdAt);
+    /** Removes dedupe keys of events created before {@code createdBefore}; returns the number removed. */
+    int deleteEventKeysCreatedBefore(LocalDateTime createdBefore);
 }
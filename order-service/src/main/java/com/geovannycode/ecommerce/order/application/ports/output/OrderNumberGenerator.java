@@ -0,0 +1,7 @@
+package com.geovannycode.ecommerce.order.application.ports.output;
+
+public interface OrderNumberGenerator {
+
+    /** Returns a new order number, unique across all instances of the service. */
+    String nextOrderNumber();
+}
@@ -1,23 +1,63 @@
 package com.geovannycode.ecommerce.order.application.ports.output;
 
-import com.geovannycode.ecommerce.order.application.dto.OrderSummary;
+import com.geovannycode.ecommerce.order.application.dto.OrderCursor;
+import com.geovannycode.ecommerce.order.application.dto.OrderPage;
+import com.geovannycode.ecommerce.order.application.dto.OrderSearchCriteria;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusSnapshot;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository {
-    List<OrderEntity> findOrderByStatus(OrderStatus status);
+    /**
+     * Locks the next {@code limit} orders in {@code status} and the given order number hash partition with an id
+     * greater than {@code afterId}, in id order. Rows locked by another transaction are skipped.
+     */
+    List<OrderEntity> lockNextByStatus(OrderStatus status, int partition, int partitions, long afterId, int limit);
 
-    Optional<OrderEntity> findByOrderNumber(String orderNumber);
+    /** Locks up to {@code limit} orders in {@code status} created before {@code before}, skipping locked rows. */
+    List<OrderEntity> lockCreatedBeforeByStatus(OrderStatus status, LocalDateTime before, int limit);
+
+    /** Loads the given orders with their items in a single query. */
+    List<OrderEntity> findAllWithItems(Collection<Long> ids);
+
+    /** Loads the orders with the given order numbers, with their items, in a single query. */
+    List<OrderEntity> findAllWithItemsByOrderNumbers(Collection<String> orderNumbers);
 
-    void updateOrderStatus(String orderNumber, OrderStatus status);
+    void updateOrderStatuses(Collection<Long> ids, OrderStatus status, String comments, LocalDateTime updatedAt);
 
-    List<OrderSummary> findByUserName(String userName);
+    Optional<OrderEntity> findByOrderNumber(String orderNumber);
+
+    Optional<OrderStatusSnapshot> findStatusByOrderNumber(String orderNumber);
+
+    /**
+     * Moves the order to {@code newStatus} and bumps its version, but only if it is still in
+     * {@code expectedStatus} at {@code expectedVersion}. Null comments keep the existing ones. Returns whether
+     * the order was updated.
+     */
+    boolean compareAndSetStatus(
+            String orderNumber,
+            OrderStatus expectedStatus,
+            long expectedVersion,
+            OrderStatus newStatus,
+            String comments,
+            LocalDateTime updatedAt);
+
+    /**
+     * Returns up to {@code limit} of the user's orders matching {@code criteria}, ordered by creation time and
+     * starting after {@code after} (from the beginning when null).
+     */
+    OrderPage findByUserName(String userName, OrderSearchCriteria criteria, OrderCursor after, int limit);
 
     Optional<OrderEntity> findByUserNameAndOrderNumber(String userName, String orderNumber);
 
     OrderEntity save(OrderEntity orderEntity);
 
+    /** Saves and flushes the orders, so they are visible to plain JDBC writes in the same transaction. */
+    List<OrderEntity> saveAll(List<OrderEntity> orderEntities);
+
     boolean existsByOrderNumber(String orderNumber);
 }
@@ -6,5 +6,14 @@ import java.util.List;
 public interface OrderStatusHistoryRepository {
     void save(OrderStatusHistory orderStatusHistory);
 
+    /** Appends the entries to the staging table with one batched statement, in the caller's transaction. */
+    void stageAll(List<OrderStatusHistory> orderStatusHistories);
+
+    /**
+     * Moves up to {@code limit} of the oldest staged entries into the history table, skipping entries another
+     * writer is moving. Returns the number of entries moved.
+     */
+    int moveStaged(int limit);
+
     List<OrderStatusHistory> findByOrderNumber(String orderNumber);
 }
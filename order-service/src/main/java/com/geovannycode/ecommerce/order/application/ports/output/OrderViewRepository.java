@@ -0,0 +1,27 @@
+package com.geovannycode.ecommerce.order.application.ports.output;
+
+import com.geovannycode.ecommerce.order.common.model.OrderDTO;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Denormalized order documents keyed by order number, kept in step with the orders tables by the services that
+ * write them.
+ */
+public interface OrderViewRepository {
+    /**
+     * Inserts the documents of newly created orders. An order number that already has a document is rejected with a
+     * {@link org.springframework.dao.DuplicateKeyException}; this is what keeps order numbers unique now that the
+     * partitioned orders table cannot.
+     */
+    void saveAll(List<OrderDTO> orders);
+
+    /** Sets the status of the given orders, and their comments unless {@code comments} is null. */
+    void updateStatus(Collection<String> orderNumbers, OrderStatus status, String comments);
+
+    Optional<OrderDTO> findByOrderNumber(String orderNumber);
+
+    Optional<OrderDTO> findByUserNameAndOrderNumber(String userName, String orderNumber);
+}
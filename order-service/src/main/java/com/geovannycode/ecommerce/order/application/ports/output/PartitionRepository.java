@@ -0,0 +1,25 @@
+package com.geovannycode.ecommerce.order.application.ports.output;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+
+/** Monthly range partitions of the order tables, named {@code <table>_pYYYY_MM}. */
+public interface PartitionRepository {
+    /** Creates the partition of {@code table} for {@code month} unless it already exists. */
+    void createPartition(String table, YearMonth month);
+
+    /** Months of the partitions attached to {@code table}, oldest first. The default partition is not included. */
+    List<YearMonth> findAttachedPartitions(String table);
+
+    /** Whether the partition still holds rows the application works on, such as open orders or unpublished events. */
+    boolean hasActiveRows(String table, YearMonth month);
+
+    void detachPartition(String table, YearMonth month);
+
+    /** Months of partitions detached from {@code table} that have not been archived yet, oldest first. */
+    List<YearMonth> findDetachedPartitions(String table);
+
+    /** Exports a detached partition as gzip-compressed CSV below {@code directory}, then drops it. */
+    Path archivePartition(String table, YearMonth month, Path directory);
+}
@@ -0,0 +1,159 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderNumberGenerator;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderViewRepository;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.domain.exception.CheckoutUnavailableException;
+import com.geovannycode.ecommerce.order.domain.exception.InvalidOrderException;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.mapper.OrderMapper;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.validator.OrderValidator;
+import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.PaymentRequest;
+import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.PaymentResponse;
+import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.PaymentServiceClient;
+import com.geovannycode.ecommerce.order.infrastructure.output.events.mapper.OrderEventMapper;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accepts orders without waiting for downstream services. The order is saved as {@link OrderStatus#PENDING}
+ * in a short transaction and checked out on a virtual thread: catalog validation and payment authorization
+ * run outside any transaction, and only the final status change touches the database again. Payment details
+ * are never persisted; an order whose checkout is lost with the instance stays pending until the processing
+ * job moves it to error.
+ */
+@Service
+public class AsyncCheckoutService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(AsyncCheckoutService.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderValidator orderValidator;
+    private final PaymentServiceClient paymentServiceClient;
+    private final OrderStatusService orderStatusService;
+    private final OrderEventService orderEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("order-checkout-", 0).factory());
+
+    public AsyncCheckoutService(
+            OrderRepository orderRepository,
+            OrderViewRepository orderViewRepository,
+            OrderNumberGenerator orderNumberGenerator,
+            OrderValidator orderValidator,
+            PaymentServiceClient paymentServiceClient,
+            OrderStatusService orderStatusService,
+            OrderEventService orderEventService,
+            TransactionTemplate transactionTemplate,
+            ApplicationProperties properties) {
+        this.orderRepository = orderRepository;
+        this.orderViewRepository = orderViewRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
+        this.orderValidator = orderValidator;
+        this.paymentServiceClient = paymentServiceClient;
+        this.orderStatusService = orderStatusService;
+        this.orderEventService = orderEventService;
+        this.transactionTemplate = transactionTemplate;
+        this.permits = new Semaphore(properties.checkout().maxInFlight());
+    }
+
+    public CreateOrderResponse submitOrder(String userName, CreateOrderRequest request) {
+        if (executor.isShutdown() || !permits.tryAcquire()) {
+            throw new CheckoutUnavailableException();
+        }
+        String orderNumber;
+        try {
+            orderNumber = transactionTemplate.execute(tx -> {
+                OrderEntity order = OrderMapper.convertToEntity(request, orderNumberGenerator.nextOrderNumber());
+                order.setUserName(userName);
+                order.setStatus(OrderStatus.PENDING);
+                OrderEntity savedOrder = orderRepository.save(order);
+                orderViewRepository.saveAll(List.of(OrderMapper.convertToDTO(savedOrder)));
+                return savedOrder.getOrderNumber();
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    checkout(orderNumber, request);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The pending order is already committed, so it is accepted like any other; the processing job moves
+            // it to error once it has been pending for longer than the pending timeout.
+            permits.release();
+            log.warn("Could not start checkout of orderNumber={}, leaving it pending", orderNumber);
+        }
+        log.info("Accepted order with orderNumber={} for checkout", orderNumber);
+        return new CreateOrderResponse(orderNumber);
+    }
+
+    private void checkout(String orderNumber, CreateOrderRequest request) {
+        try {
+            orderValidator.validate(request);
+            if (request.payment() != null) {
+                PaymentResponse payment = paymentServiceClient.authorize(PaymentRequest.from(request.payment()));
+                if (payment.status() != PaymentResponse.PaymentStatus.ACCEPTED) {
+                    completeCheckout(orderNumber, OrderStatus.PAYMENT_REJECTED, "Payment rejected");
+                    return;
+                }
+            }
+            completeCheckout(orderNumber, OrderStatus.NEW, "Order accepted");
+        } catch (InvalidOrderException e) {
+            completeCheckout(orderNumber, OrderStatus.ERROR, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Checkout failed for orderNumber={}", orderNumber, e);
+            completeCheckout(orderNumber, OrderStatus.ERROR, "Checkout failed");
+        }
+    }
+
+    /** Moves the order out of pending, unless it has been cancelled or timed out in the meantime. */
+    private void completeCheckout(String orderNumber, OrderStatus status, String comments) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (!orderStatusService.updateOrderStatusIfCurrent(
+                        orderNumber, OrderStatus.PENDING, status, comments)) {
+                    log.info("Order {} is no longer pending, skipping checkout result {}", orderNumber, status);
+                    return;
+                }
+                if (status == OrderStatus.NEW) {
+                    OrderEntity order =
+                            orderRepository.findByOrderNumber(orderNumber).orElseThrow();
+                    orderEventService.save(OrderEventMapper.buildOrderCreatedEvent(order));
+                }
+            });
+            log.info("Checkout of orderNumber={} finished with status {}", orderNumber, status);
+        } catch (RuntimeException e) {
+            log.error("Failed to record checkout result {} for orderNumber={}", status, orderNumber, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
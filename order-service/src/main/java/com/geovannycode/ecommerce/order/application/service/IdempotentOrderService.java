@@ -0,0 +1,166 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.dto.IdempotencyRecord;
+import com.geovannycode.ecommerce.order.application.ports.output.IdempotencyStore;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import com.geovannycode.ecommerce.order.domain.exception.IdempotencyKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates orders at most once per {@code Idempotency-Key}. The first request for a key claims it in the
+ * idempotency store and runs the normal create path; the resulting order number is stored for {@code ttl} and
+ * returned to every later request with the same key. Concurrent requests for a key that is still in flight wait
+ * for the first one: on this instance through a shared future, on other instances by polling the store.
+ */
+@Service
+public class IdempotentOrderService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotentOrderService.class);
+    private static final Duration MIN_POLL_INTERVAL = Duration.ofMillis(25);
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties.Idempotency properties;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentOrderService(
+            OrderService orderService,
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            ApplicationProperties properties) {
+        this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.properties = properties.idempotency();
+    }
+
+    public CreateOrderResponse createOrder(String userName, String idempotencyKey, CreateOrderRequest request) {
+        String key = userName + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw IdempotencyKeyException.forMismatchedRequest(idempotencyKey);
+            }
+            return awaitLocal(existing, idempotencyKey);
+        }
+
+        try {
+            CreateOrderResponse response = createOnce(userName, key, idempotencyKey, fingerprint, request);
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private CreateOrderResponse createOnce(
+            String userName, String key, String idempotencyKey, String fingerprint, CreateOrderRequest request) {
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+        Duration pollInterval = MIN_POLL_INTERVAL;
+        while (true) {
+            if (idempotencyStore.claim(key, fingerprint, properties.inFlightTtl())) {
+                return createAndRemember(userName, key, fingerprint, request);
+            }
+            Optional<IdempotencyRecord> stored = idempotencyStore.find(key);
+            if (stored.isPresent()) {
+                IdempotencyRecord record = stored.get();
+                if (!record.fingerprint().equals(fingerprint)) {
+                    throw IdempotencyKeyException.forMismatchedRequest(idempotencyKey);
+                }
+                if (record.completed()) {
+                    return new CreateOrderResponse(record.orderNumber());
+                }
+            }
+            // Either still in flight, or the other request failed and released the key and it can be claimed on
+            // the next pass. Back off in both cases so a key that keeps flapping does not spin against the store.
+            if (System.nanoTime() >= deadline) {
+                throw IdempotencyKeyException.forInFlightRequest(idempotencyKey);
+            }
+            sleep(pollInterval, idempotencyKey);
+            pollInterval = pollInterval.multipliedBy(2);
+            if (pollInterval.compareTo(MAX_POLL_INTERVAL) > 0) {
+                pollInterval = MAX_POLL_INTERVAL;
+            }
+        }
+    }
+
+    private CreateOrderResponse createAndRemember(
+            String userName, String key, String fingerprint, CreateOrderRequest request) {
+        CreateOrderResponse response;
+        try {
+            response = orderService.createOrder(userName, request);
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+        try {
+            idempotencyStore.complete(key, fingerprint, response.orderNumber(), properties.ttl());
+        } catch (RuntimeException e) {
+            // The order exists; a retry after the in-flight TTL would create a duplicate, but failing the
+            // request here would make the client retry right away.
+            log.error("Failed to store idempotency result for order {}", response.orderNumber(), e);
+        }
+        return response;
+    }
+
+    private CreateOrderResponse awaitLocal(InFlight existing, String idempotencyKey) {
+        try {
+            return existing.result().get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw IdempotencyKeyException.forInFlightRequest(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyKeyException.forInFlightRequest(idempotencyKey);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private void sleep(Duration duration, String idempotencyKey) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyKeyException.forInFlightRequest(idempotencyKey);
+        }
+    }
+
+    private String fingerprint(CreateOrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<CreateOrderResponse> result) {}
+}
@@ -0,0 +1,201 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import com.geovannycode.ecommerce.order.common.model.OrderImportResult;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.validator.OrderValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Imports orders from newline-delimited JSON. Lines are read one at a time and collected into chunks; each
+ * chunk is validated against the catalog in batches and saved in its own transaction, so memory use does not
+ * grow with the size of the import. Lines longer than {@code importMaxLineLength} characters are rejected
+ * without being buffered. Every non-blank line produces exactly one {@link OrderImportResult}.
+ */
+@Service
+public class OrderImportService {
+    private static final Logger log = LoggerFactory.getLogger(OrderImportService.class);
+
+    private final OrderService orderService;
+    private final OrderValidator orderValidator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxLineLength;
+
+    public OrderImportService(
+            OrderService orderService,
+            OrderValidator orderValidator,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ApplicationProperties properties) {
+        this.orderService = orderService;
+        this.orderValidator = orderValidator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = properties.importChunkSize();
+        this.maxLineLength = properties.importMaxLineLength();
+    }
+
+    public void importOrders(String userName, BufferedReader reader, Consumer<OrderImportResult> results)
+            throws IOException {
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        LineReader lines = new LineReader(reader, maxLineLength);
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.next()) != null) {
+            lineNumber++;
+            if (lines.tooLong()) {
+                results.accept(
+                        OrderImportResult.rejected(lineNumber, "Line is longer than " + maxLineLength + " characters"));
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            CreateOrderRequest request;
+            try {
+                request = objectMapper.readValue(line, CreateOrderRequest.class);
+            } catch (JsonProcessingException e) {
+                results.accept(OrderImportResult.rejected(lineNumber, "Malformed order: " + e.getOriginalMessage()));
+                continue;
+            }
+            Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results.accept(OrderImportResult.rejected(lineNumber, describe(violations)));
+                continue;
+            }
+            chunk.add(new ImportLine(lineNumber, request));
+            if (chunk.size() >= chunkSize) {
+                importChunk(userName, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(userName, chunk, results);
+        }
+    }
+
+    private void importChunk(String userName, List<ImportLine> chunk, Consumer<OrderImportResult> results) {
+        List<String> problems;
+        try {
+            problems = orderValidator.findProblems(
+                    chunk.stream().map(ImportLine::request).toList());
+        } catch (RuntimeException e) {
+            log.error("Product validation failed for import chunk: {}", e.getMessage(), e);
+            chunk.forEach(
+                    line -> results.accept(OrderImportResult.failed(line.number(), "Product validation unavailable")));
+            return;
+        }
+
+        List<ImportLine> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (problems.get(i) == null) {
+                valid.add(chunk.get(i));
+            } else {
+                results.accept(OrderImportResult.rejected(chunk.get(i).number(), problems.get(i)));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<CreateOrderResponse> created = orderService.saveValidatedOrders(
+                    userName, valid.stream().map(ImportLine::request).toList());
+            for (int i = 0; i < valid.size(); i++) {
+                results.accept(OrderImportResult.created(
+                        valid.get(i).number(), created.get(i).orderNumber()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to save import chunk of {} orders: {}", valid.size(), e.getMessage(), e);
+            valid.forEach(line -> results.accept(OrderImportResult.failed(line.number(), "Failed to save order")));
+        }
+    }
+
+    private String describe(Set<ConstraintViolation<CreateOrderRequest>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record ImportLine(long number, CreateOrderRequest request) {}
+
+    /**
+     * Splits input into lines the way {@link BufferedReader#readLine()} does, but keeps at most {@code maxLength}
+     * characters of a line; the rest of an over-long line is read and dropped.
+     */
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /** Returns the next line without its terminator, or {@code null} at the end of the input. */
+        String next() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n' && c != '\r') {
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+                c = read();
+            }
+            if (c == '\r' && fill() && buffer[position] == '\n') {
+                position++;
+            }
+            return line.toString();
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+
+        private int read() throws IOException {
+            return fill() ? buffer[position++] : -1;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.ports.output.EventPublisherPort;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderEventRepository;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Relays unpublished order events to Kafka. Each batch claims whole orders with {@code FOR UPDATE SKIP LOCKED},
+ * so any number of order-service replicas can run the relay without two of them publishing events of the same
+ * order. Within an order, events are published one at a time in creation order, and only the acknowledged prefix
+ * is marked published; the rest is retried, still in order, on a later poll.
+ */
+@Component
+public class OrderOutboxRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderEventRepository orderEventRepository;
+    private final EventPublisherPort eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.Outbox properties;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderOutboxRelay(
+            OrderEventRepository orderEventRepository,
+            EventPublisherPort eventPublisher,
+            TransactionTemplate transactionTemplate,
+            ApplicationProperties properties) {
+        this.orderEventRepository = orderEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties.outbox();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("order-outbox-relay").daemon(true).start(this::relay);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relay() {
+        Duration delay = properties.minPollInterval();
+        while (running) {
+            try {
+                BatchResult result = transactionTemplate.execute(status -> relayBatch());
+                delay = nextDelay(result, delay);
+            } catch (RuntimeException e) {
+                log.error("Outbox relay batch failed: {}", e.getMessage(), e);
+                delay = properties.maxPollInterval();
+            }
+            if (!delay.isZero() && !sleep(delay)) {
+                return;
+            }
+        }
+    }
+
+    private BatchResult relayBatch() {
+        List<OrderEventEntity> events = orderEventRepository.claimUnpublished(properties.batchSize());
+        if (events.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        // An order's events go to different topics, so broker-side ordering cannot be relied on: each event is
+        // sent only once the previous one of its order was acknowledged, and an order stops at its first failure.
+        Map<String, List<OrderEventEntity>> eventsByOrder = new LinkedHashMap<>();
+        for (OrderEventEntity event : events) {
+            eventsByOrder
+                    .computeIfAbsent(event.getOrderNumber(), orderNumber -> new ArrayList<>())
+                    .add(event);
+        }
+        Map<String, Iterator<OrderEventEntity>> remainingByOrder = new LinkedHashMap<>();
+        eventsByOrder.forEach((orderNumber, orderEvents) -> remainingByOrder.put(orderNumber, orderEvents.iterator()));
+
+        long deadline = System.nanoTime() + properties.sendTimeout().toNanos();
+        List<Long> publishedIds = new ArrayList<>(events.size());
+        while (!remainingByOrder.isEmpty()) {
+            Map<OrderEventEntity, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+            for (Iterator<OrderEventEntity> remaining : remainingByOrder.values()) {
+                OrderEventEntity event = remaining.next();
+                sends.put(event, eventPublisher.publish(event));
+            }
+            for (Map.Entry<OrderEventEntity, CompletableFuture<Void>> send : sends.entrySet()) {
+                OrderEventEntity event = send.getKey();
+                try {
+                    send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    publishedIds.add(event.getId());
+                    if (!remainingByOrder.get(event.getOrderNumber()).hasNext()) {
+                        remainingByOrder.remove(event.getOrderNumber());
+                    }
+                } catch (ExecutionException | TimeoutException e) {
+                    log.warn(
+                            "Failed to publish event {} for order {}; holding back its later events",
+                            event.getEventId(),
+                            event.getOrderNumber(),
+                            e);
+                    remainingByOrder.remove(event.getOrderNumber());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    remainingByOrder.clear();
+                    break;
+                }
+            }
+        }
+
+        if (!publishedIds.isEmpty()) {
+            orderEventRepository.markPublished(publishedIds);
+        }
+        log.debug("Published {} of {} claimed order events", publishedIds.size(), events.size());
+        return new BatchResult(events.size(), events.size() - publishedIds.size());
+    }
+
+    private Duration nextDelay(BatchResult result, Duration current) {
+        if (result.failed() > 0) {
+            return properties.maxPollInterval();
+        }
+        if (result.claimed() >= properties.batchSize()) {
+            return Duration.ZERO;
+        }
+        if (result.claimed() > 0) {
+            return properties.minPollInterval();
+        }
+        Duration backedOff = current.isZero() ? properties.minPollInterval() : current.multipliedBy(2);
+        return backedOff.compareTo(properties.maxPollInterval()) > 0 ? properties.maxPollInterval() : backedOff;
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record BatchResult(int claimed, int failed) {}
+}
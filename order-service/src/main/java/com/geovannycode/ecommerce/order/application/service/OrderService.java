@@ -1,17 +1,23 @@
 package com.geovannycode.ecommerce.order.application.service;
 
-import com.geovannycode.ecommerce.order.application.dto.OrderSummary;
+import com.geovannycode.ecommerce.events.OrderCreatedEvent;
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.dto.OrderCursor;
+import com.geovannycode.ecommerce.order.application.dto.OrderPage;
+import com.geovannycode.ecommerce.order.application.dto.OrderSearchCriteria;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusChange;
 import com.geovannycode.ecommerce.order.application.ports.input.CreateOrderUseCase;
 import com.geovannycode.ecommerce.order.application.ports.input.FindOrdersUseCase;
 import com.geovannycode.ecommerce.order.application.ports.input.FindUserOrderUseCase;
-import com.geovannycode.ecommerce.order.application.ports.input.ProcessNewOrdersUseCase;
 import com.geovannycode.ecommerce.order.application.ports.input.UpdateOrderStatusUseCase;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderNumberGenerator;
 import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderViewRepository;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
-import com.geovannycode.ecommerce.order.common.model.OrderCreatedEvent;
 import com.geovannycode.ecommerce.order.common.model.OrderDTO;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.domain.exception.InvalidOrderException;
 import com.geovannycode.ecommerce.order.domain.exception.OrderCancellationException;
 import com.geovannycode.ecommerce.order.domain.exception.OrderNotFoundException;
 import com.geovannycode.ecommerce.order.infrastructure.input.api.mapper.OrderMapper;
@@ -21,74 +27,97 @@ import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.Pa
 import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.PaymentServiceClient;
 import com.geovannycode.ecommerce.order.infrastructure.output.events.mapper.OrderEventMapper;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
-public class OrderService
-        implements CreateOrderUseCase, FindOrdersUseCase, FindUserOrderUseCase, ProcessNewOrdersUseCase {
+public class OrderService implements CreateOrderUseCase, FindOrdersUseCase, FindUserOrderUseCase, DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
-    private static final List<String> DELIVERY_ALLOWED_COUNTRIES =
-            List.of("BRASIL", "INDIA", "USA", "GERMANY", "COLOMBIA");
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
     private final OrderValidator orderValidator;
     private final OrderEventService orderEventService;
     private final PaymentServiceClient paymentServiceClient;
     private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
+    private final ApplicationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final int authorizationParallelism;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("payment-authorization-", 0).factory());
 
     public OrderService(
             OrderRepository orderRepository,
+            OrderViewRepository orderViewRepository,
+            OrderNumberGenerator orderNumberGenerator,
             OrderValidator orderValidator,
             OrderEventService orderEventService,
             PaymentServiceClient paymentServiceClient,
-            UpdateOrderStatusUseCase updateOrderStatusUseCase) {
+            UpdateOrderStatusUseCase updateOrderStatusUseCase,
+            ApplicationProperties properties,
+            TransactionTemplate transactionTemplate) {
         this.orderRepository = orderRepository;
+        this.orderViewRepository = orderViewRepository;
+        this.orderNumberGenerator = orderNumberGenerator;
         this.orderValidator = orderValidator;
         this.orderEventService = orderEventService;
         this.paymentServiceClient = paymentServiceClient;
         this.updateOrderStatusUseCase = updateOrderStatusUseCase;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.authorizationParallelism = properties.payment().authorizationParallelism();
     }
 
+    /**
+     * Validates the order against the catalog and authorizes its payment before any transaction is opened; only
+     * the writes run in one.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CreateOrderResponse createOrder(String userName, CreateOrderRequest request) {
         orderValidator.validate(request);
-        OrderEntity newOrder = OrderMapper.convertToEntity(request);
-        newOrder.setUserName(userName);
-
-        if (newOrder.getStatus() == null) {
-            newOrder.setStatus(OrderStatus.NEW);
-        }
-
-        if (request.payment() != null) {
-            CreateOrderRequest.Payment payment = request.payment();
-            PaymentRequest paymentRequest = new PaymentRequest(
-                    payment.cardNumber(), payment.cvv(), payment.expiryMonth(), payment.expiryYear());
+        boolean paymentRejected = authorizePayments(List.of(request))[0];
 
-            PaymentResponse paymentResponse = paymentServiceClient.authorize(paymentRequest);
-
-            if (paymentResponse.status() != PaymentResponse.PaymentStatus.ACCEPTED) {
-                newOrder.setStatus(OrderStatus.PAYMENT_REJECTED);
-                newOrder.setComments("Payment rejected");
-                OrderEntity savedOrder = this.orderRepository.save(newOrder);
-
-                // No se crea evento para pagos rechazados ya que OrderEventService no lo soporta
-                log.info("Payment rejected for orderNumber={}", savedOrder.getOrderNumber());
-
-                return new CreateOrderResponse(savedOrder.getOrderNumber());
+        OrderEntity savedOrder = transactionTemplate.execute(tx -> {
+            OrderEntity order = this.orderRepository.save(newOrder(userName, request, paymentRejected));
+            orderViewRepository.saveAll(List.of(OrderMapper.convertToDTO(order)));
+            if (order.getStatus() != OrderStatus.PAYMENT_REJECTED) {
+                saveCreatedEvent(order);
             }
+            return order;
+        });
+
+        if (savedOrder.getStatus() == OrderStatus.PAYMENT_REJECTED) {
+            // No se crea evento para pagos rechazados ya que OrderEventService no lo soporta
+            log.info("Payment rejected for orderNumber={}", savedOrder.getOrderNumber());
+        } else {
+            log.info("Created Order with orderNumber={}", savedOrder.getOrderNumber());
         }
+        return new CreateOrderResponse(savedOrder.getOrderNumber());
+    }
 
-        OrderEntity savedOrder = this.orderRepository.save(newOrder);
-        log.info("Created Order with orderNumber={}", savedOrder.getOrderNumber());
+    private void saveCreatedEvent(OrderEntity savedOrder) {
         try {
             OrderCreatedEvent orderCreatedEvent = OrderEventMapper.buildOrderCreatedEvent(savedOrder);
-            log.info("Calling orderEventService.save() with eventId: {}", orderCreatedEvent.getEventId());
+            log.info("Calling orderEventService.save() with eventId: {}", orderCreatedEvent.eventId());
             orderEventService.save(orderCreatedEvent);
             log.info("Successfully called orderEventService.save()");
         } catch (Exception e) {
@@ -98,58 +127,133 @@ public class OrderService
                     e.getMessage(),
                     e);
         }
-        return new CreateOrderResponse(savedOrder.getOrderNumber());
     }
 
     @Override
-    public List<OrderSummary> findOrders(String userName) {
-        return orderRepository.findByUserName(userName);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CreateOrderResponse> createOrders(String userName, List<CreateOrderRequest> requests) {
+        if (requests.size() > properties.maxBulkOrders()) {
+            throw new InvalidOrderException(
+                    "Bulk request contains " + requests.size() + " orders, maximum is " + properties.maxBulkOrders());
+        }
+        orderValidator.validate(requests);
+        return saveValidatedOrders(userName, requests);
     }
 
-    @Override
-    public Optional<OrderDTO> findUserOrder(String userName, String orderNumber) {
-        return orderRepository
-                .findByUserNameAndOrderNumber(userName, orderNumber)
-                .map(OrderMapper::convertToDTO);
+    /**
+     * Creates orders whose products have already been validated. Payments are authorized first, concurrently and
+     * outside any transaction; the orders and their created events are then saved in batches in one transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CreateOrderResponse> saveValidatedOrders(String userName, List<CreateOrderRequest> requests) {
+        boolean[] paymentRejected = authorizePayments(requests);
+
+        List<OrderEntity> savedOrders = transactionTemplate.execute(tx -> {
+            List<OrderEntity> newOrders = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                newOrders.add(newOrder(userName, requests.get(i), paymentRejected[i]));
+            }
+            List<OrderEntity> orders = orderRepository.saveAll(newOrders);
+            orderViewRepository.saveAll(
+                    orders.stream().map(OrderMapper::convertToDTO).toList());
+
+            List<OrderEventEntity> events = orders.stream()
+                    .filter(order -> order.getStatus() == OrderStatus.NEW)
+                    .map(order -> orderEventService.toOrderEvent(OrderEventMapper.buildOrderCreatedEvent(order)))
+                    .toList();
+            orderEventService.saveAll(events);
+            return orders;
+        });
+        log.info("Created {} orders in batch", savedOrders.size());
+
+        return savedOrders.stream()
+                .map(order -> new CreateOrderResponse(order.getOrderNumber()))
+                .toList();
     }
 
-    @Override
-    public void processNewOrders() {
-        List<OrderEntity> orders = orderRepository.findOrderByStatus(OrderStatus.NEW);
-        log.info("Found {} new orders to process", orders.size());
-        for (OrderEntity order : orders) {
-            this.process(order);
+    private OrderEntity newOrder(String userName, CreateOrderRequest request, boolean paymentRejected) {
+        OrderEntity newOrder = OrderMapper.convertToEntity(request, orderNumberGenerator.nextOrderNumber());
+        newOrder.setUserName(userName);
+
+        if (newOrder.getStatus() == null) {
+            newOrder.setStatus(OrderStatus.NEW);
+        }
+        if (paymentRejected) {
+            newOrder.setStatus(OrderStatus.PAYMENT_REJECTED);
+            newOrder.setComments("Payment rejected");
         }
+        return newOrder;
     }
 
-    private void process(OrderEntity order) {
+    /**
+     * Authorizes the payments of the requests that carry one, at most {@code app.payment.authorization-parallelism}
+     * at a time. Returns, for each request in order, whether its payment was rejected. An unavailable payment
+     * service fails the whole call.
+     */
+    private boolean[] authorizePayments(List<CreateOrderRequest> requests) {
+        boolean[] rejected = new boolean[requests.size()];
+        List<Integer> withPayment = IntStream.range(0, requests.size())
+                .filter(i -> requests.get(i).payment() != null)
+                .boxed()
+                .toList();
+        if (withPayment.size() == 1) {
+            int index = withPayment.getFirst();
+            rejected[index] = isRejected(requests.get(index));
+            return rejected;
+        }
+
+        Semaphore permits = new Semaphore(authorizationParallelism);
+        List<Future<?>> authorizations = new ArrayList<>(withPayment.size());
         try {
-            if (canBeDelivered(order)) {
-                log.info("OrderNumber: {} can be delivered", order.getOrderNumber());
-                updateOrderStatusUseCase.updateOrderStatus(
-                        order.getOrderNumber(), OrderStatus.DELIVERED, "Order processed successfully");
-            } else {
-                log.info("OrderNumber: {} can not be delivered", order.getOrderNumber());
-                updateOrderStatusUseCase.updateOrderStatus(
-                        order.getOrderNumber(), OrderStatus.CANCELLED, "Can't deliver to the location");
+            for (int index : withPayment) {
+                permits.acquire();
+                authorizations.add(executor.submit(() -> {
+                    try {
+                        rejected[index] = isRejected(requests.get(index));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> authorization : authorizations) {
+                authorization.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while authorizing payments", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-        } catch (RuntimeException e) {
-            log.error("Failed to process Order with orderNumber: {}", order.getOrderNumber(), e);
-            updateOrderStatusUseCase.updateOrderStatus(order.getOrderNumber(), OrderStatus.ERROR, e.getMessage());
+            throw new IllegalStateException("Failed to authorize payments", e.getCause());
+        } finally {
+            authorizations.forEach(authorization -> authorization.cancel(true));
         }
+        return rejected;
     }
 
-    private boolean canBeDelivered(OrderEntity order) {
-        return DELIVERY_ALLOWED_COUNTRIES.contains(
-                order.getDeliveryAddress().getCountry().toUpperCase());
+    private boolean isRejected(CreateOrderRequest request) {
+        PaymentResponse paymentResponse = paymentServiceClient.authorize(PaymentRequest.from(request.payment()));
+        return paymentResponse.status() != PaymentResponse.PaymentStatus.ACCEPTED;
     }
 
-    public Optional<OrderDTO> findOrderByOrderId(String orderNumber) {
-        return this.orderRepository.findByOrderNumber(orderNumber).map(OrderMapper::convertToDTO);
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage findOrders(String userName, OrderSearchCriteria criteria, String cursor, int size) {
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return orderRepository.findByUserName(userName, criteria, after, limit);
     }
 
-    public List<OrderEntity> findOrdersByStatus(OrderStatus status) {
-        return orderRepository.findOrderByStatus(status);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findUserOrder(String userName, String orderNumber) {
+        return orderViewRepository.findByUserNameAndOrderNumber(userName, orderNumber);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findOrderByOrderId(String orderNumber) {
+        return orderViewRepository.findByOrderNumber(orderNumber);
     }
 
     public void cancelOrder(String orderNumber) {
@@ -168,4 +272,13 @@ public class OrderService
     public void updateOrderStatus(String orderNumber, OrderStatus status, String comments) {
         updateOrderStatusUseCase.updateOrderStatus(orderNumber, status, comments);
     }
+
+    public int updateOrderStatuses(List<OrderStatusChange> changes) {
+        return updateOrderStatusUseCase.updateOrderStatuses(changes);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
 }
@@ -0,0 +1,135 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderStatusHistoryRepository;
+import com.geovannycode.ecommerce.order.common.model.OrderStatusHistory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Appends order status history off the request path. Entries recorded in a transaction are collected and staged
+ * with one batched insert just before it commits, into a table without secondary indexes, so they are as durable
+ * as the transitions themselves. A background thread moves staged entries into {@code order_status_history} in set-based batches; batches are
+ * claimed with {@code FOR UPDATE SKIP LOCKED}, so every replica can run the writer and entries left behind by a
+ * stopped instance are picked up by the others. History reads see an entry once it has been moved, normally
+ * within the flush interval.
+ */
+@Component
+public class OrderStatusHistoryWriter implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusHistoryWriter.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderStatusHistoryWriter(
+            OrderStatusHistoryRepository orderStatusHistoryRepository, ApplicationProperties properties) {
+        this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+        this.batchSize = properties.history().batchSize();
+        this.flushInterval = properties.history().flushInterval();
+    }
+
+    public void record(OrderStatusHistory entry) {
+        recordAll(List.of(entry));
+    }
+
+    /**
+     * Stages the entries when the current transaction commits, together with every other entry recorded in it.
+     * Outside a transaction they are staged right away.
+     */
+    public void recordAll(List<OrderStatusHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            orderStatusHistoryRepository.stageAll(entries);
+            return;
+        }
+        PendingEntries pending = (PendingEntries) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEntries();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.addAll(entries);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("order-status-history-writer")
+                .daemon(true)
+                .start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            Duration delay;
+            try {
+                int moved = orderStatusHistoryRepository.moveStaged(batchSize);
+                log.debug("Moved {} staged order status history entries", moved);
+                delay = moved < batchSize ? flushInterval : Duration.ZERO;
+            } catch (RuntimeException e) {
+                log.warn("Failed to move staged order status history, retrying: {}", e.getMessage());
+                delay = RETRY_DELAY;
+            }
+            if (!delay.isZero()) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** The entries recorded in one transaction, bound to it while it is active. */
+    private final class PendingEntries implements TransactionSynchronization {
+        private final List<OrderStatusHistory> entries = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(OrderStatusHistoryWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(OrderStatusHistoryWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            orderStatusHistoryRepository.stageAll(entries);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OrderStatusHistoryWriter.this);
+        }
+    }
+}
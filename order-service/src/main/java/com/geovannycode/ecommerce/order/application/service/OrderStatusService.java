@@ -1,96 +1,186 @@
 package com.geovannycode.ecommerce.order.application.service;
 
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusChange;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusSnapshot;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusUpdate;
 import com.geovannycode.ecommerce.order.application.ports.input.FindOrderStatusHistoryUseCase;
 import com.geovannycode.ecommerce.order.application.ports.input.UpdateOrderStatusUseCase;
 import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
 import com.geovannycode.ecommerce.order.application.ports.output.OrderStatusHistoryRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderViewRepository;
 import com.geovannycode.ecommerce.order.common.model.OrderStatusHistory;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.domain.exception.InvalidStatusTransitionException;
 import com.geovannycode.ecommerce.order.domain.exception.OrderNotFoundException;
 import com.geovannycode.ecommerce.order.infrastructure.output.events.mapper.OrderEventMapper;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Applies order status transitions. Every applied transition is also published as an {@link OrderStatusUpdate}
+ * application event, which is streamed to subscribers once the transaction commits.
+ */
 @Service
-@Transactional
+@Transactional(noRollbackFor = InvalidStatusTransitionException.class)
 public class OrderStatusService implements UpdateOrderStatusUseCase, FindOrderStatusHistoryUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(OrderStatusService.class);
 
+    private static final int MAX_TRANSITION_ATTEMPTS = 5;
+
     private final OrderRepository orderRepository;
+    private final OrderViewRepository orderViewRepository;
     private final OrderStatusHistoryRepository orderStatusHistoryRepository;
+    private final OrderStatusHistoryWriter orderStatusHistoryWriter;
     private final OrderEventService orderEventService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     public OrderStatusService(
             OrderRepository orderRepository,
+            OrderViewRepository orderViewRepository,
             OrderStatusHistoryRepository orderStatusHistoryRepository,
-            OrderEventService orderEventService) {
+            OrderStatusHistoryWriter orderStatusHistoryWriter,
+            OrderEventService orderEventService,
+            ApplicationEventPublisher applicationEventPublisher) {
         this.orderRepository = orderRepository;
+        this.orderViewRepository = orderViewRepository;
         this.orderStatusHistoryRepository = orderStatusHistoryRepository;
+        this.orderStatusHistoryWriter = orderStatusHistoryWriter;
         this.orderEventService = orderEventService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     public void updateOrderStatus(String orderNumber, OrderStatus newStatus, String comments, String changedBy) {
+        transition(orderNumber, null, newStatus, comments, changedBy);
+    }
+
+    /**
+     * Moves the order to {@code newStatus} only while it is still in {@code expectedStatus}. Returns whether the
+     * order was moved.
+     */
+    public boolean updateOrderStatusIfCurrent(
+            String orderNumber, OrderStatus expectedStatus, OrderStatus newStatus, String comments) {
+        return transition(orderNumber, expectedStatus, newStatus, comments, null);
+    }
+
+    /**
+     * Reads the current status and version, checks the transition and applies it with a conditional update. No
+     * row lock is taken; when another writer gets there first the update matches nothing and the transition is
+     * re-evaluated against the new status.
+     */
+    private boolean transition(
+            String orderNumber, OrderStatus requiredStatus, OrderStatus newStatus, String comments, String changedBy) {
         log.info("Updating order status: orderNumber={}, newStatus={}", orderNumber, newStatus);
 
-        OrderEntity order = orderRepository.findByOrderNumber(orderNumber).orElseThrow(() -> {
-            log.error("Order not found: {}", orderNumber);
-            return new OrderNotFoundException(orderNumber);
-        });
+        for (int attempt = 1; attempt <= MAX_TRANSITION_ATTEMPTS; attempt++) {
+            OrderStatusSnapshot current = orderRepository
+                    .findStatusByOrderNumber(orderNumber)
+                    .orElseThrow(() -> {
+                        log.error("Order not found: {}", orderNumber);
+                        return new OrderNotFoundException(orderNumber);
+                    });
+            OrderStatus previousStatus = current.status();
 
-        OrderStatus previousStatus = order.getStatus();
+            if (requiredStatus != null && previousStatus != requiredStatus) {
+                log.info(
+                        "Order {} is {} instead of {}, not moving it to {}",
+                        orderNumber,
+                        previousStatus,
+                        requiredStatus,
+                        newStatus);
+                return false;
+            }
+            // No realizar cambios si el estado es el mismo
+            if (previousStatus == newStatus) {
+                log.info("Order already in status {}, no changes needed", newStatus);
+                return false;
+            }
+            if (!previousStatus.canTransitionTo(newStatus)) {
+                throw new InvalidStatusTransitionException(orderNumber, previousStatus, newStatus);
+            }
 
-        // No realizar cambios si el estado es el mismo
-        if (previousStatus == newStatus) {
-            log.info("Order already in status {}, no changes needed", newStatus);
-            return;
+            LocalDateTime now = LocalDateTime.now();
+            if (orderRepository.compareAndSetStatus(
+                    orderNumber, previousStatus, current.version(), newStatus, comments, now)) {
+                log.info(
+                        "Order status updated: orderNumber={}, previousStatus={}, newStatus={}",
+                        orderNumber,
+                        previousStatus,
+                        newStatus);
+                afterTransition(
+                        orderNumber,
+                        current.userName(),
+                        previousStatus,
+                        newStatus,
+                        comments,
+                        changedBy,
+                        now,
+                        current.version() + 1);
+                return true;
+            }
+            log.debug("Order {} changed concurrently, retrying status update (attempt {})", orderNumber, attempt);
         }
+        throw new OptimisticLockingFailureException(
+                "Order " + orderNumber + " kept changing while moving it to " + newStatus);
+    }
 
-        // Actualizar el estado de la orden
-        order.setStatus(newStatus);
-        if (comments != null) {
-            order.setComments(comments);
-        }
-        orderRepository.save(order);
-        log.info(
-                "Order status updated: orderNumber={}, previousStatus={}, newStatus={}",
-                orderNumber,
-                previousStatus,
-                newStatus);
+    private void afterTransition(
+            String orderNumber,
+            String userName,
+            OrderStatus previousStatus,
+            OrderStatus newStatus,
+            String comments,
+            String changedBy,
+            LocalDateTime changedAt,
+            long version) {
+        orderViewRepository.updateStatus(List.of(orderNumber), newStatus, comments);
+        applicationEventPublisher.publishEvent(
+                new OrderStatusUpdate(orderNumber, userName, newStatus, comments, changedAt));
 
         // Registrar en el historial
         OrderStatusHistory historyEntry = new OrderStatusHistory(
-                orderNumber,
-                previousStatus,
-                newStatus,
-                comments,
-                LocalDateTime.now(),
-                changedBy != null ? changedBy : "SYSTEM");
-        orderStatusHistoryRepository.save(historyEntry);
-        log.info("Order status history recorded for orderNumber={}", orderNumber);
+                orderNumber, previousStatus, newStatus, comments, changedAt, changedBy != null ? changedBy : "SYSTEM");
+        orderStatusHistoryWriter.record(historyEntry);
 
         // Crear y guardar eventos para estados específicos
+        if (newStatus != OrderStatus.DELIVERED
+                && newStatus != OrderStatus.CANCELLED
+                && newStatus != OrderStatus.ERROR) {
+            log.debug("No specific event created for status: {}", newStatus);
+            return;
+        }
+        if (previousStatus == OrderStatus.PENDING) {
+            log.debug("No event created for order {}, its creation was never published", orderNumber);
+            return;
+        }
         try {
+            OrderEntity order = orderRepository.findByOrderNumber(orderNumber).orElseThrow();
             switch (newStatus) {
                 case DELIVERED:
-                    orderEventService.save(OrderEventMapper.buildOrderDeliveredEvent(order));
+                    orderEventService.save(OrderEventMapper.buildOrderDeliveredEvent(order), version);
                     log.info("Order delivered event created for orderNumber={}", orderNumber);
                     break;
                 case CANCELLED:
-                    orderEventService.save(OrderEventMapper.buildOrderCancelledEvent(order, comments));
+                    orderEventService.save(OrderEventMapper.buildOrderCancelledEvent(order, comments), version);
                     log.info("Order cancelled event created for orderNumber={}", orderNumber);
                     break;
-                case ERROR:
-                    orderEventService.save(OrderEventMapper.buildOrderErrorEvent(order, comments));
-                    log.info("Order error event created for orderNumber={}", orderNumber);
-                    break;
                 default:
-                    log.debug("No specific event created for status: {}", newStatus);
+                    orderEventService.save(OrderEventMapper.buildOrderErrorEvent(order, comments), version);
+                    log.info("Order error event created for orderNumber={}", orderNumber);
             }
         } catch (Exception e) {
             log.error("Failed to create order event for status update: {}", e.getMessage(), e);
@@ -101,6 +191,141 @@ public class OrderStatusService implements UpdateOrderStatusUseCase, FindOrderSt
         updateOrderStatus(orderNumber, newStatus, comments, null);
     }
 
+    /**
+     * Moves a batch of orders to {@code newStatus} with one update statement, records their history and
+     * batch-inserts their events. Orders that can't make the transition are skipped. The orders must be locked by the caller
+     * and, when the new status publishes an event, have their items loaded; orders leaving
+     * {@link OrderStatus#PENDING} publish none, since their creation was never published.
+     */
+    public void updateOrderStatuses(List<OrderEntity> orders, OrderStatus newStatus, String comments) {
+        orders = orders.stream()
+                .filter(order -> {
+                    if (order.getStatus().canTransitionTo(newStatus)) {
+                        return true;
+                    }
+                    log.warn(
+                            "Skipping order {}: can't move from {} to {}",
+                            order.getOrderNumber(),
+                            order.getStatus(),
+                            newStatus);
+                    return false;
+                })
+                .toList();
+        if (orders.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = orders.stream().map(OrderEntity::getId).toList();
+        orderRepository.updateOrderStatuses(ids, newStatus, comments, now);
+        orderViewRepository.updateStatus(
+                orders.stream().map(OrderEntity::getOrderNumber).toList(), newStatus, comments);
+
+        List<OrderStatusHistory> history = orders.stream()
+                .map(order -> new OrderStatusHistory(
+                        order.getOrderNumber(), order.getStatus(), newStatus, comments, now, "SYSTEM"))
+                .toList();
+        orderStatusHistoryWriter.recordAll(history);
+        orders.forEach(order -> applicationEventPublisher.publishEvent(
+                new OrderStatusUpdate(order.getOrderNumber(), order.getUserName(), newStatus, comments, now)));
+
+        List<OrderEventEntity> events = orders.stream()
+                .map(order -> toOrderEvent(order, order.getStatus(), newStatus, comments, order.getVersion() + 1))
+                .filter(Objects::nonNull)
+                .toList();
+        orderEventService.saveAll(events);
+        log.info("Moved {} orders to status {}", orders.size(), newStatus);
+    }
+
+    @Override
+    public int updateOrderStatuses(List<OrderStatusChange> changes) {
+        Map<String, OrderEntity> orders = orderRepository
+                .findAllWithItemsByOrderNumbers(
+                        changes.stream().map(OrderStatusChange::orderNumber).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(OrderEntity::getOrderNumber, Function.identity()));
+        Map<String, OrderStatusSnapshot> current = new HashMap<>();
+        orders.forEach((orderNumber, order) -> current.put(
+                orderNumber, new OrderStatusSnapshot(order.getStatus(), order.getVersion(), order.getUserName())));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderStatusHistory> history = new ArrayList<>();
+        List<OrderEventEntity> events = new ArrayList<>();
+        int moved = 0;
+        for (OrderStatusChange change : changes) {
+            String orderNumber = change.orderNumber();
+            OrderStatusSnapshot snapshot = current.get(orderNumber);
+            if (snapshot == null) {
+                log.info("Ignoring status change for unknown order {}", orderNumber);
+                continue;
+            }
+            if (snapshot.status() == change.status()) {
+                log.info("Order {} already in status {}, no changes needed", orderNumber, change.status());
+                continue;
+            }
+            if (!snapshot.status().canTransitionTo(change.status())) {
+                log.warn(
+                        "Ignoring status change of order {}: can't move from {} to {}",
+                        orderNumber,
+                        snapshot.status(),
+                        change.status());
+                continue;
+            }
+            if (!orderRepository.compareAndSetStatus(
+                    orderNumber, snapshot.status(), snapshot.version(), change.status(), change.comments(), now)) {
+                // changed since the batch was read; take the retrying single-order path instead
+                try {
+                    if (transition(orderNumber, null, change.status(), change.comments(), null)) {
+                        moved++;
+                    }
+                } catch (InvalidStatusTransitionException e) {
+                    log.warn("Ignoring status change: {}", e.getBody().getDetail());
+                }
+                orderRepository.findStatusByOrderNumber(orderNumber).ifPresent(s -> current.put(orderNumber, s));
+                continue;
+            }
+            current.put(
+                    orderNumber, new OrderStatusSnapshot(change.status(), snapshot.version() + 1, snapshot.userName()));
+            orderViewRepository.updateStatus(List.of(orderNumber), change.status(), change.comments());
+            applicationEventPublisher.publishEvent(
+                    new OrderStatusUpdate(orderNumber, snapshot.userName(), change.status(), change.comments(), now));
+            history.add(new OrderStatusHistory(
+                    orderNumber, snapshot.status(), change.status(), change.comments(), now, "SYSTEM"));
+            OrderEventEntity event = toOrderEvent(
+                    orders.get(orderNumber),
+                    snapshot.status(),
+                    change.status(),
+                    change.comments(),
+                    snapshot.version() + 1);
+            if (event != null) {
+                events.add(event);
+            }
+            moved++;
+        }
+        orderStatusHistoryWriter.recordAll(history);
+        orderEventService.saveAll(events);
+        log.info("Applied {} of {} status changes", moved, changes.size());
+        return moved;
+    }
+
+    /**
+     * The event published when an order moves from {@code previousStatus} to {@code status} at {@code version}, or
+     * null when that transition publishes none.
+     */
+    private OrderEventEntity toOrderEvent(
+            OrderEntity order, OrderStatus previousStatus, OrderStatus status, String comments, long version) {
+        if (previousStatus == OrderStatus.PENDING) {
+            return null;
+        }
+        return switch (status) {
+            case DELIVERED -> orderEventService.toOrderEvent(OrderEventMapper.buildOrderDeliveredEvent(order), version);
+            case CANCELLED -> orderEventService.toOrderEvent(
+                    OrderEventMapper.buildOrderCancelledEvent(order, comments), version);
+            case ERROR -> orderEventService.toOrderEvent(
+                    OrderEventMapper.buildOrderErrorEvent(order, comments), version);
+            default -> null;
+        };
+    }
+
     @Override
     public List<OrderStatusHistory> findOrderStatusHistory(String orderNumber) {
         if (!orderRepository.existsByOrderNumber(orderNumber)) {
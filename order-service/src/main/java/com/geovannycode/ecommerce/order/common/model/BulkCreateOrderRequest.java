@@ -0,0 +1,8 @@
+package com.geovannycode.ecommerce.order.common.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public record BulkCreateOrderRequest(
+        @NotEmpty(message = "Orders cannot be empty") List<@Valid CreateOrderRequest> orders) {}
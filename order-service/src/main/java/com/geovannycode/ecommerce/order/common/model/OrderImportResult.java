@@ -0,0 +1,25 @@
+package com.geovannycode.ecommerce.order.common.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderImportResult(long line, Status status, String orderNumber, String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    public static OrderImportResult created(long line, String orderNumber) {
+        return new OrderImportResult(line, Status.CREATED, orderNumber, null);
+    }
+
+    public static OrderImportResult rejected(long line, String error) {
+        return new OrderImportResult(line, Status.REJECTED, null, error);
+    }
+
+    public static OrderImportResult failed(long line, String error) {
+        return new OrderImportResult(line, Status.FAILED, null, error);
+    }
+}
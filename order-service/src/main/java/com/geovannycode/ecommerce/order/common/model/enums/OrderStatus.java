@@ -1,10 +1,40 @@
 package com.geovannycode.ecommerce.order.common.model.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
+    PENDING,
     NEW,
     IN_PROCESS,
     DELIVERED,
     PAYMENT_REJECTED,
     CANCELLED,
-    ERROR
+    ERROR;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = transitions();
+
+    /** Whether an order in this status may move to {@code target}. Staying in the same status is not a move. */
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    public boolean isTerminal() {
+        return TRANSITIONS.get(this).isEmpty();
+    }
+
+    private static Map<OrderStatus, Set<OrderStatus>> transitions() {
+        Map<OrderStatus, Set<OrderStatus>> transitions = new EnumMap<>(OrderStatus.class);
+        transitions.put(PENDING, EnumSet.of(NEW, PAYMENT_REJECTED, CANCELLED, ERROR));
+        transitions.put(NEW, EnumSet.of(IN_PROCESS, DELIVERED, CANCELLED, ERROR));
+        transitions.put(IN_PROCESS, EnumSet.of(DELIVERED, CANCELLED, ERROR));
+        transitions.put(PAYMENT_REJECTED, EnumSet.of(CANCELLED, ERROR));
+        transitions.put(ERROR, EnumSet.of(CANCELLED));
+        transitions.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        transitions.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        return Collections.unmodifiableMap(transitions);
+    }
 }
@@ -0,0 +1,25 @@
+package com.geovannycode.ecommerce.order.domain.exception;
+
+import java.net.URI;
+import java.time.Instant;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class CheckoutUnavailableException extends ErrorResponseException {
+
+    public CheckoutUnavailableException() {
+        super(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                asProblemDetail("Too many orders are being checked out right now. Retry later."),
+                null);
+    }
+
+    private static ProblemDetail asProblemDetail(String message) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, message);
+        problemDetail.setTitle("Checkout Unavailable");
+        problemDetail.setType(URI.create("https://api.geovannycode-bookstore.com/errors/checkout-unavailable"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+}
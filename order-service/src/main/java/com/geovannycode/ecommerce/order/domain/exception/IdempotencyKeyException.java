@@ -0,0 +1,36 @@
+package com.geovannycode.ecommerce.order.domain.exception;
+
+import java.net.URI;
+import java.time.Instant;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class IdempotencyKeyException extends ErrorResponseException {
+
+    private IdempotencyKeyException(HttpStatus status, String title, String message) {
+        super(status, asProblemDetail(status, title, message), null);
+    }
+
+    public static IdempotencyKeyException forInFlightRequest(String idempotencyKey) {
+        return new IdempotencyKeyException(
+                HttpStatus.CONFLICT,
+                "Request In Progress",
+                "A request with Idempotency-Key " + idempotencyKey + " is still being processed. Retry later.");
+    }
+
+    public static IdempotencyKeyException forMismatchedRequest(String idempotencyKey) {
+        return new IdempotencyKeyException(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency Key Reused",
+                "Idempotency-Key " + idempotencyKey + " was already used with a different request.");
+    }
+
+    private static ProblemDetail asProblemDetail(HttpStatus status, String title, String message) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, message);
+        problemDetail.setTitle(title);
+        problemDetail.setType(URI.create("https://api.geovannycode-bookstore.com/errors/idempotency-key"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+}
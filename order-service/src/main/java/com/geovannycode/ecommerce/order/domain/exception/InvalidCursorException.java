@@ -0,0 +1,22 @@
+package com.geovannycode.ecommerce.order.domain.exception;
+
+import java.net.URI;
+import java.time.Instant;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class InvalidCursorException extends ErrorResponseException {
+
+    public InvalidCursorException(String cursor) {
+        super(HttpStatus.BAD_REQUEST, asProblemDetail("Invalid page cursor " + cursor), null);
+    }
+
+    private static ProblemDetail asProblemDetail(String message) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, message);
+        problemDetail.setTitle("Invalid Cursor");
+        problemDetail.setType(URI.create("https://api.geovannycode-bookstore.com/errors/invalid-cursor"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+}
@@ -0,0 +1,26 @@
+package com.geovannycode.ecommerce.order.domain.exception;
+
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.net.URI;
+import java.time.Instant;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class InvalidStatusTransitionException extends ErrorResponseException {
+
+    public InvalidStatusTransitionException(String orderNumber, OrderStatus from, OrderStatus to) {
+        super(
+                HttpStatus.CONFLICT,
+                asProblemDetail("Order " + orderNumber + " can't move from " + from + " to " + to),
+                null);
+    }
+
+    private static ProblemDetail asProblemDetail(String message) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, message);
+        problemDetail.setTitle("Invalid Status Transition");
+        problemDetail.setType(URI.create("https://api.geovannycode-bookstore.com/errors/invalid-status-transition"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+}
@@ -0,0 +1,25 @@
+package com.geovannycode.ecommerce.order.domain.exception;
+
+import java.net.URI;
+import java.time.Instant;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+public class PaymentUnavailableException extends ErrorResponseException {
+
+    public PaymentUnavailableException(Throwable cause) {
+        super(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                asProblemDetail("Payment authorization is temporarily unavailable. Retry later."),
+                cause);
+    }
+
+    private static ProblemDetail asProblemDetail(String message) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, message);
+        problemDetail.setTitle("Payment Unavailable");
+        problemDetail.setType(URI.create("https://api.geovannycode-bookstore.com/errors/payment-unavailable"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        return problemDetail;
+    }
+}
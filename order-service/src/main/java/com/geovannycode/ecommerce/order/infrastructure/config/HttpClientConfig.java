@@ -0,0 +1,113 @@
+package com.geovannycode.ecommerce.order.infrastructure.config;
+
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shared transport for calls to the catalog and payment services. Connections are pooled and kept alive
+ * between requests, and every client is built from Boot's instrumented builders, so each downstream shows up
+ * under {@code http.client.requests} tagged with its host. The pool itself is reported as
+ * {@code httpcomponents.httpclient.pool.*}.
+ *
+ * <p>With {@code app.http.http2=true} the JDK client replaces the pool altogether: it multiplexes requests over
+ * one connection per host and has no limits or keep-alive of its own to configure, so the pool beans and their
+ * metrics are not created and the pool settings are ignored.
+ */
+@Configuration
+public class HttpClientConfig {
+    private static final Logger log = LoggerFactory.getLogger(HttpClientConfig.class);
+    private static final String HTTP2_PROPERTY = "app.http.http2";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    PoolingHttpClientConnectionManager outboundConnectionManager(ApplicationProperties properties) {
+        ApplicationProperties.Http http = properties.http();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.maxConnections())
+                .setMaxConnPerRoute(http.maxConnectionsPerHost())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.readTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager connectionManager, ApplicationProperties properties) {
+        ApplicationProperties.Http http = properties.http();
+        TimeValue maxKeepAlive = TimeValue.of(http.keepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(http.connectionRequestTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue keepAlive =
+                            DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive.compareTo(maxKeepAlive) < 0 ? keepAlive : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(maxKeepAlive)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    ClientHttpRequestFactory outboundRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "true")
+    ClientHttpRequestFactory outboundHttp2RequestFactory(ApplicationProperties properties) {
+        ApplicationProperties.Http http = properties.http();
+        log.info(
+                "Outbound HTTP/2 enabled: max-connections={}, max-connections-per-host={}, keep-alive={} and "
+                        + "connection-request-timeout={} do not apply to the JDK client",
+                http.maxConnections(),
+                http.maxConnectionsPerHost(),
+                http.keepAlive(),
+                http.connectionRequestTimeout());
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(http.connectTimeout())
+                .build());
+        requestFactory.setReadTimeout(http.readTimeout());
+        return requestFactory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    MeterBinder outboundConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound");
+    }
+
+    @Bean
+    RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory) {
+        return builder.requestFactory(() -> requestFactory).build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.geovannycode.ecommerce.order.infrastructure.input.api.controller;
+
+import com.geovannycode.ecommerce.order.application.service.AsyncCheckoutService;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import jakarta.validation.Valid;
+import java.net.URI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderCheckoutController {
+    private static final Logger log = LoggerFactory.getLogger(OrderCheckoutController.class);
+
+    private final AsyncCheckoutService asyncCheckoutService;
+
+    OrderCheckoutController(AsyncCheckoutService asyncCheckoutService) {
+        this.asyncCheckoutService = asyncCheckoutService;
+    }
+
+    /**
+     * Accepts the order as pending and checks it out in the background. The Location header points to the
+     * order, whose status leaves {@code PENDING} once validation and payment have finished.
+     */
+    @PostMapping("/checkout")
+    ResponseEntity<CreateOrderResponse> checkout(@Valid @RequestBody CreateOrderRequest request) {
+        String userName = "";
+        log.info("Accepting order for asynchronous checkout for user: {}", userName);
+        CreateOrderResponse response = asyncCheckoutService.submitOrder(userName, request);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/orders/{orderNumber}")
+                .buildAndExpand(response.orderNumber())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+}
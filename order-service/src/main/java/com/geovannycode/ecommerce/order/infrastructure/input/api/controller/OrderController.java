@@ -1,48 +1,98 @@
 package com.geovannycode.ecommerce.order.infrastructure.input.api.controller;
 
+import com.geovannycode.ecommerce.order.application.dto.OrderPage;
+import com.geovannycode.ecommerce.order.application.dto.OrderSearchCriteria;
 import com.geovannycode.ecommerce.order.application.dto.OrderSummary;
+import com.geovannycode.ecommerce.order.application.service.IdempotentOrderService;
 import com.geovannycode.ecommerce.order.application.service.OrderService;
+import com.geovannycode.ecommerce.order.common.model.BulkCreateOrderRequest;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
 import com.geovannycode.ecommerce.order.common.model.OrderDTO;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
 import com.geovannycode.ecommerce.order.domain.exception.OrderNotFoundException;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final IdempotentOrderService idempotentOrderService;
 
-    OrderController(OrderService orderService) {
+    OrderController(OrderService orderService, IdempotentOrderService idempotentOrderService) {
         this.orderService = orderService;
+        this.idempotentOrderService = idempotentOrderService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    CreateOrderResponse createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    CreateOrderResponse createOrder(
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequest request) {
         String userName = "";
         log.info("Creating order for user: {}", userName);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return idempotentOrderService.createOrder(userName, idempotencyKey, request);
+        }
         return orderService.createOrder(userName, request);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    List<CreateOrderResponse> createOrders(@Valid @RequestBody BulkCreateOrderRequest request) {
+        String userName = "";
+        log.info("Creating {} orders for user: {}", request.orders().size(), userName);
+        return orderService.createOrders(userName, request.orders());
+    }
+
+    /**
+     * Lists the user's orders, newest first unless {@code oldestFirst} is set. The body stays a plain array;
+     * when more orders match, a {@code Link} header with {@code rel="next"} points to the next page.
+     */
     @GetMapping
-    List<OrderSummary> getOrders() {
+    ResponseEntity<List<OrderSummary>> getOrders(
+            @RequestParam(name = "status", required = false) Set<OrderStatus> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                    LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(defaultValue = "false") boolean oldestFirst,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         String userName = "";
         log.info("Fetching orders for user: {}", userName);
-        return orderService.findOrders(userName);
+        OrderSearchCriteria criteria = new OrderSearchCriteria(statuses, createdFrom, createdTo, oldestFirst);
+        OrderPage page = orderService.findOrders(userName, criteria, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.orders());
     }
 
     @GetMapping(value = "/{orderNumber}")
@@ -0,0 +1,52 @@
+package com.geovannycode.ecommerce.order.infrastructure.input.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.application.service.OrderImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderImportController {
+    private static final Logger log = LoggerFactory.getLogger(OrderImportController.class);
+
+    private final OrderImportService orderImportService;
+    private final ObjectMapper objectMapper;
+
+    OrderImportController(OrderImportService orderImportService, ObjectMapper objectMapper) {
+        this.orderImportService = orderImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads one order per line and writes one result per line as soon as its chunk has been processed, so
+     * neither the request nor the response is held in memory.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    void importOrders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String userName = "";
+        log.info("Importing orders for user: {}", userName);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        orderImportService.importOrders(userName, request.getReader(), result -> {
+            try {
+                writer.println(objectMapper.writeValueAsString(result));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            writer.flush();
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.geovannycode.ecommerce.order.infrastructure.input.api.controller;
+
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusUpdate;
+import com.geovannycode.ecommerce.order.application.service.OrderService;
+import com.geovannycode.ecommerce.order.common.model.OrderDTO;
+import com.geovannycode.ecommerce.order.domain.exception.OrderNotFoundException;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.stream.OrderStatusStreamHub;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event streams of order status changes, so clients can subscribe once instead of polling. Every
+ * change is sent as a {@code status} event holding an {@link OrderStatusUpdate}.
+ */
+@RestController
+@RequestMapping("/api/orders")
+public class OrderStatusStreamController {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusStreamController.class);
+
+    private final OrderService orderService;
+    private final OrderStatusStreamHub hub;
+
+    OrderStatusStreamController(OrderService orderService, OrderStatusStreamHub hub) {
+        this.orderService = orderService;
+        this.hub = hub;
+    }
+
+    /**
+     * Streams the changes of one of the user's orders, starting with its current status. The stream is opened before the
+     * order is read, so no change committed in between is missed.
+     */
+    @GetMapping(value = "/{orderNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamOrder(@PathVariable String orderNumber) {
+        String userName = "";
+        log.info("Streaming status changes of order {} for user: {}", orderNumber, userName);
+        SseEmitter emitter = hub.subscribeToOrder(orderNumber);
+        Optional<OrderDTO> order = orderService.findUserOrder(userName, orderNumber);
+        if (order.isEmpty()) {
+            hub.cancel(emitter);
+            throw new OrderNotFoundException(orderNumber);
+        }
+        OrderDTO current = order.get();
+        hub.sendTo(
+                emitter,
+                new OrderStatusUpdate(
+                        current.orderNumber(), current.user(), current.status(), current.comments(), null));
+        return emitter;
+    }
+
+    /** Streams the status changes of all of the user's orders. */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamUserOrders() {
+        String userName = "";
+        log.info("Streaming order status changes for user: {}", userName);
+        return hub.subscribeToUser(userName);
+    }
+}
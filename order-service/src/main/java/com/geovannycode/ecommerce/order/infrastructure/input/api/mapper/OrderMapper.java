@@ -8,14 +8,13 @@ import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderE
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderItemEntity;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class OrderMapper {
 
-    public static OrderEntity convertToEntity(CreateOrderRequest request) {
+    public static OrderEntity convertToEntity(CreateOrderRequest request, String orderNumber) {
         OrderEntity newOrder = new OrderEntity();
-        newOrder.setOrderNumber(UUID.randomUUID().toString());
+        newOrder.setOrderNumber(orderNumber);
         newOrder.setStatus(OrderStatus.NEW);
         newOrder.setCustomer(request.customer());
         newOrder.setDeliveryAddress(request.deliveryAddress());
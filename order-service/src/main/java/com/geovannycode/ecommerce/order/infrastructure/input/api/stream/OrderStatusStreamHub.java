@@ -0,0 +1,181 @@
+package com.geovannycode.ecommerce.order.infrastructure.input.api.stream;
+
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusUpdate;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans status updates out to the server-sent event streams open on this instance, one set of streams per order
+ * and one per user. Each stream has a bounded queue drained by its own virtual thread, so subscribers see updates
+ * in the order they were dispatched and a slow client only holds up its own stream. Dispatching and heartbeats
+ * only enqueue, so a transition never waits for a client's socket; a stream whose queue is full, or whose client
+ * has gone away, is closed and dropped.
+ */
+@Component
+public class OrderStatusStreamHub implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusStreamHub.class);
+
+    private final Map<String, Set<Subscriber>> orderStreams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> userStreams = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+
+    public OrderStatusStreamHub(ApplicationProperties properties) {
+        ApplicationProperties.StatusStream statusStream = properties.statusStream();
+        this.timeoutMillis = statusStream.timeout().toMillis();
+        this.queueCapacity = statusStream.queueCapacity();
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("order-status-stream-heartbeat").factory());
+        long heartbeatMillis = statusStream.heartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(
+                this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribeToOrder(String orderNumber) {
+        return subscribe(orderStreams, orderNumber);
+    }
+
+    public SseEmitter subscribeToUser(String userName) {
+        return subscribe(userStreams, userName);
+    }
+
+    /** Drops a stream that was subscribed but will not be handed to the client, e.g. for an unknown order. */
+    public void cancel(SseEmitter emitter) {
+        Subscriber subscriber = subscribers.remove(emitter);
+        if (subscriber == null) {
+            return;
+        }
+        orderStreams.values().forEach(streams -> streams.remove(subscriber));
+        userStreams.values().forEach(streams -> streams.remove(subscriber));
+        orderStreams.values().removeIf(Set::isEmpty);
+        userStreams.values().removeIf(Set::isEmpty);
+        subscriber.stop();
+    }
+
+    /** Sends an event to a single new stream, e.g. the order's current status right after subscribing. */
+    public void sendTo(SseEmitter emitter, OrderStatusUpdate update) {
+        Subscriber subscriber = subscribers.get(emitter);
+        if (subscriber != null) {
+            subscriber.enqueue(statusEvent(update));
+        }
+    }
+
+    public void dispatch(OrderStatusUpdate update) {
+        Set<Subscriber> byOrder = orderStreams.get(update.orderNumber());
+        Set<Subscriber> byUser = update.userName() == null ? null : userStreams.get(update.userName());
+        if (byOrder == null && byUser == null) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = statusEvent(update);
+        enqueueAll(byOrder, event);
+        enqueueAll(byUser, event);
+    }
+
+    private SseEmitter subscribe(Map<String, Set<Subscriber>> streams, String key) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        subscribers.put(emitter, subscriber);
+        streams.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        Runnable remove = () -> {
+            subscribers.remove(emitter);
+            streams.computeIfPresent(key, (k, subscribed) -> {
+                subscribed.remove(subscriber);
+                return subscribed.isEmpty() ? null : subscribed;
+            });
+            subscriber.stop();
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    private void sendHeartbeats() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat =
+                SseEmitter.event().comment("heartbeat").build();
+        subscribers.values().forEach(subscriber -> subscriber.enqueue(heartbeat));
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> statusEvent(OrderStatusUpdate update) {
+        return SseEmitter.event().name("status").data(update).build();
+    }
+
+    private static void enqueueAll(Set<Subscriber> subscribed, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (subscribed != null) {
+            subscribed.forEach(subscriber -> subscriber.enqueue(event));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(subscriber -> {
+            subscriber.stop();
+            subscriber.emitter.complete();
+        });
+    }
+
+    /** One open stream: its pending events and the virtual thread writing them to the client. */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Thread writer;
+
+        Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.writer = Thread.ofVirtual().name("order-status-stream").start(this::drain);
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!closed.get() && !queue.offer(event) && closed.compareAndSet(false, true)) {
+                log.debug("Closing order status stream that fell {} events behind", queue.size());
+                writer.interrupt();
+                emitter.complete();
+            }
+        }
+
+        void stop() {
+            closed.set(true);
+            writer.interrupt();
+        }
+
+        private void drain() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Set<ResponseBodyEmitter.DataWithMediaType> event = queue.take();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        log.debug("Dropping order status stream: {}", e.getMessage());
+                        closed.set(true);
+                        emitter.completeWithError(e);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                queue.clear();
+            }
+        }
+    }
+}
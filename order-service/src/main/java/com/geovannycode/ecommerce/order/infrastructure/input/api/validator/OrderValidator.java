@@ -1,37 +1,190 @@
 package com.geovannycode.ecommerce.order.infrastructure.input.api.validator;
 
+import com.geovannycode.ecommerce.order.ApplicationProperties;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import com.geovannycode.ecommerce.order.common.model.OrderItem;
 import com.geovannycode.ecommerce.order.domain.exception.InvalidOrderException;
 import com.geovannycode.ecommerce.order.infrastructure.output.clients.catalog.Product;
 import com.geovannycode.ecommerce.order.infrastructure.output.clients.catalog.ProductServiceClient;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
+/**
+ * Validates order items against the catalog. Distinct product codes are fetched in batches, and the batches of
+ * one validation run concurrently on virtual threads: at most {@code parallelism} per validation and
+ * {@code maxConcurrentCalls} across the service.
+ */
 @Component
-public class OrderValidator {
+public class OrderValidator implements DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(OrderValidator.class);
 
     private final ProductServiceClient client;
+    private final int batchSize;
+    private final int parallelism;
+    private final Semaphore catalogCalls;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("catalog-lookup-", 0).factory());
 
-    OrderValidator(ProductServiceClient client) {
+    OrderValidator(ProductServiceClient client, ApplicationProperties properties) {
         this.client = client;
+        this.batchSize = properties.validation().batchSize();
+        this.parallelism = properties.validation().parallelism();
+        this.catalogCalls = new Semaphore(properties.validation().maxConcurrentCalls());
     }
 
     public void validate(CreateOrderRequest request) {
-        Set<OrderItem> items = request.items();
-        for (OrderItem item : items) {
-            Product product = client.getProductByCode(item.code())
-                    .orElseThrow(() -> new InvalidOrderException("Invalid Product code:" + item.code()));
-            if (item.price().compareTo(product.price()) != 0) {
-                log.error(
-                        "Product price not matching. Actual price:{}, received price:{}",
-                        product.price(),
-                        item.price());
-                throw new InvalidOrderException("Product price not matching");
+        validate(List.of(request));
+    }
+
+    /**
+     * Validates all requests against the catalog and throws on the first problem found. Each batch is checked as
+     * soon as it arrives, and lookups still outstanding at that point are cancelled.
+     */
+    public void validate(List<CreateOrderRequest> requests) {
+        Map<String, List<OrderItem>> itemsByCode = requests.stream()
+                .flatMap(request -> request.items().stream())
+                .collect(Collectors.groupingBy(OrderItem::code));
+        fetchProducts(List.copyOf(itemsByCode.keySet()), (codes, productsByCode) -> {
+            for (String code : codes) {
+                for (OrderItem item : itemsByCode.get(code)) {
+                    String problem = findProblem(item, productsByCode);
+                    if (problem != null) {
+                        throw new InvalidOrderException(problem);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks every request against the catalog without failing fast. Returns, for each request in order, the
+     * reason it is invalid or {@code null} when it is valid.
+     */
+    public List<String> findProblems(List<CreateOrderRequest> requests) {
+        List<String> codes = requests.stream()
+                .flatMap(request -> request.items().stream())
+                .map(OrderItem::code)
+                .distinct()
+                .toList();
+        Map<String, Product> productsByCode = new HashMap<>();
+        fetchProducts(codes, (batchCodes, products) -> productsByCode.putAll(products));
+        List<String> problems = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            problems.add(findProblem(request, productsByCode));
+        }
+        return problems;
+    }
+
+    /**
+     * Fetches the products in batches and hands each batch to {@code onBatch} on the calling thread as it
+     * completes. If {@code onBatch} or a lookup throws, the remaining lookups are cancelled.
+     */
+    private void fetchProducts(List<String> codes, BiConsumer<Set<String>, Map<String, Product>> onBatch) {
+        List<Set<String>> batches = new ArrayList<>();
+        for (int from = 0; from < codes.size(); from += batchSize) {
+            batches.add(Set.copyOf(codes.subList(from, Math.min(from + batchSize, codes.size()))));
+        }
+        if (batches.size() == 1) {
+            Batch batch = fetchLimited(batches.getFirst());
+            onBatch.accept(batch.codes(), batch.productsByCode());
+            return;
+        }
+
+        CompletionService<Batch> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Batch>> submitted = new ArrayList<>(batches.size());
+        int next = 0;
+        try {
+            while (next < Math.min(parallelism, batches.size())) {
+                submitted.add(completionService.submit(lookup(batches.get(next++))));
+            }
+            for (int completed = 0; completed < batches.size(); completed++) {
+                Batch batch = completionService.take().get();
+                if (next < batches.size()) {
+                    submitted.add(completionService.submit(lookup(batches.get(next++))));
+                }
+                onBatch.accept(batch.codes(), batch.productsByCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching products", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to fetch products", e.getCause());
+        } finally {
+            submitted.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Callable<Batch> lookup(Set<String> codes) {
+        return () -> fetchLimited(codes);
+    }
+
+    /** Fetches one batch once the service-wide limit on concurrent catalog calls allows it. */
+    private Batch fetchLimited(Set<String> codes) {
+        try {
+            catalogCalls.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching products", e);
+        }
+        try {
+            return new Batch(codes, fetchBatch(codes));
+        } finally {
+            catalogCalls.release();
+        }
+    }
+
+    private Map<String, Product> fetchBatch(Set<String> codes) {
+        return client.getProductsByCodes(codes).products().stream()
+                .collect(Collectors.toMap(Product::code, Function.identity(), (first, second) -> first));
+    }
+
+    private String findProblem(CreateOrderRequest request, Map<String, Product> productsByCode) {
+        for (OrderItem item : request.items()) {
+            String problem = findProblem(item, productsByCode);
+            if (problem != null) {
+                return problem;
             }
         }
+        return null;
+    }
+
+    private String findProblem(OrderItem item, Map<String, Product> productsByCode) {
+        Product product = productsByCode.get(item.code());
+        if (product == null) {
+            return "Invalid Product code:" + item.code();
+        }
+        if (item.price().compareTo(product.price()) != 0) {
+            log.error("Product price not matching. Actual price:{}, received price:{}", product.price(), item.price());
+            return "Product price not matching";
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
     }
+
+    private record Batch(Set<String> codes, Map<String, Product> productsByCode) {}
 }
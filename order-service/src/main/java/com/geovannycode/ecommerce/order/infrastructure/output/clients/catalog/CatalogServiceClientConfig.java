@@ -1,8 +1,6 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.clients.catalog;
 
 import com.geovannycode.ecommerce.order.ApplicationProperties;
-import java.time.Duration;
-import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
@@ -11,13 +9,8 @@ import org.springframework.web.client.RestClient;
 @Configuration(value = "orderCatalogServiceClientConfig")
 class CatalogServiceClientConfig {
     @Bean(name = "orderRestClient")
-    RestClient restClient(RestClient.Builder builder, ApplicationProperties properties) {
-        ClientHttpRequestFactory requestFactory = ClientHttpRequestFactoryBuilder.simple()
-                .withCustomizer(customizer -> {
-                    customizer.setConnectTimeout(Duration.ofSeconds(5));
-                    customizer.setReadTimeout(Duration.ofSeconds(5));
-                })
-                .build();
+    RestClient restClient(
+            RestClient.Builder builder, ClientHttpRequestFactory requestFactory, ApplicationProperties properties) {
         return builder.baseUrl(properties.catalogServiceUrl())
                 .requestFactory(requestFactory)
                 .build();
@@ -0,0 +1,5 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.clients.catalog;
+
+import java.util.List;
+
+public record ProductBatch(List<Product> products, List<String> missingCodes) {}
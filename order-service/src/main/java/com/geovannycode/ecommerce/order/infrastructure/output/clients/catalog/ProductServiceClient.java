@@ -1,6 +1,8 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.clients.catalog;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -23,4 +25,14 @@ public class ProductServiceClient {
                 restClient.get().uri("/api/products/{code}", code).retrieve().body(Product.class);
         return Optional.ofNullable(product);
     }
+
+    public ProductBatch getProductsByCodes(Set<String> codes) {
+        log.info("Fetching {} products by code", codes.size());
+        return restClient
+                .post()
+                .uri("/api/products/batch")
+                .body(Map.of("codes", codes))
+                .retrieve()
+                .body(ProductBatch.class);
+    }
 }
@@ -1,5 +1,6 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.clients.payment;
 
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -7,4 +8,9 @@ public record PaymentRequest(
         @NotBlank(message = "cardNumber is required") String cardNumber,
         @NotBlank(message = "cvv is required") String cvv,
         @NotNull(message = "expiryMonth is required") Integer expiryMonth,
-        @NotNull(message = "expiryYear is required") Integer expiryYear) {}
+        @NotNull(message = "expiryYear is required") Integer expiryYear) {
+
+    public static PaymentRequest from(CreateOrderRequest.Payment payment) {
+        return new PaymentRequest(payment.cardNumber(), payment.cvv(), payment.expiryMonth(), payment.expiryYear());
+    }
+}
@@ -1,36 +1,160 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.clients.payment;
 
 import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.domain.exception.PaymentUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Calls the payment service through a resilience4j bulkhead, time limiter and circuit breaker, all named
+ * {@code payment-service}. A 4xx answer rejects the payment; timeouts, a full bulkhead, an open circuit and
+ * server errors fail with {@link PaymentUnavailableException} instead, so a payment-service outage does not
+ * reject valid orders. When {@code app.payment.hedge-delay} is set, a second attempt is sent if the first has
+ * not answered by then and the first successful answer wins; the validate endpoint has no side effects, so
+ * this is safe.
+ *
+ * <p>Every HTTP request holds its own bulkhead permit until it has actually finished, not just until the caller
+ * stops waiting for it: a request abandoned by the time limiter keeps running until the client's read timeout,
+ * and still counts against the bulkhead until then. A hedge is only sent when a permit is free.
+ */
 @Service
-public class PaymentServiceClient {
+public class PaymentServiceClient implements DisposableBean {
     private static final Logger log = LoggerFactory.getLogger(PaymentServiceClient.class);
+    private static final String PAYMENT_SERVICE = "payment-service";
 
     private final RestTemplate restTemplate;
     private final ApplicationProperties properties;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration hedgeDelay;
+    private final Counter hedgedRequests;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("payment-call-", 0).factory());
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("payment-timer").daemon(true).factory());
 
-    public PaymentServiceClient(RestTemplate restTemplate, ApplicationProperties properties) {
+    public PaymentServiceClient(
+            RestTemplate restTemplate,
+            ApplicationProperties properties,
+            BulkheadRegistry bulkheadRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
         this.properties = properties;
+        this.bulkhead = bulkheadRegistry.bulkhead(PAYMENT_SERVICE);
+        this.timeLimiter = timeLimiterRegistry.timeLimiter(PAYMENT_SERVICE);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(PAYMENT_SERVICE);
+        this.hedgeDelay = properties.payment().hedgeDelay();
+        this.hedgedRequests = Counter.builder("payment.authorization.hedged")
+                .description("Payment authorizations that sent a hedged second request")
+                .register(meterRegistry);
     }
 
     public PaymentResponse authorize(PaymentRequest request) {
+        Supplier<CompletionStage<PaymentResponse>> call =
+                timeLimiter.decorateCompletionStage(scheduler, () -> sendHedged(request));
+        call = CircuitBreaker.decorateCompletionStage(circuitBreaker, call);
         try {
-            HttpEntity<?> httpEntity = new HttpEntity<>(request);
-            String url = properties.paymentServiceUrl() + "/api/payments/validate";
-            ResponseEntity<PaymentResponse> response =
-                    restTemplate.exchange(url, HttpMethod.POST, httpEntity, PaymentResponse.class);
-            return response.getBody();
-        } catch (RuntimeException e) {
-            log.error("Error while validation payment: ", e);
-            return new PaymentResponse(PaymentResponse.PaymentStatus.REJECTED);
+            return call.get().toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof HttpClientErrorException clientError) {
+                log.warn("Payment rejected by payment-service: {}", clientError.getStatusCode());
+                return new PaymentResponse(PaymentResponse.PaymentStatus.REJECTED);
+            }
+            log.error("Payment authorization unavailable: {}", e.getCause().toString());
+            throw new PaymentUnavailableException(e.getCause());
         }
     }
+
+    private CompletableFuture<PaymentResponse> sendHedged(PaymentRequest request) {
+        if (!bulkhead.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(bulkhead));
+        }
+        CompletableFuture<PaymentResponse> primary = sendAsync(request);
+        if (hedgeDelay.isZero()) {
+            return primary;
+        }
+        CompletableFuture<PaymentResponse> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<PaymentResponse, Throwable> onAttempt = (response, failure) -> {
+            if (failure == null) {
+                result.complete(response);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(failure);
+            }
+        };
+        ScheduledFuture<?> hedge = scheduler.schedule(
+                () -> {
+                    if (result.isDone() || !bulkhead.tryAcquirePermission()) {
+                        return;
+                    }
+                    outstanding.incrementAndGet();
+                    hedgedRequests.increment();
+                    sendAsync(request).whenComplete(onAttempt);
+                },
+                hedgeDelay.toMillis(),
+                TimeUnit.MILLISECONDS);
+        primary.whenComplete(onAttempt);
+        result.whenComplete((response, failure) -> hedge.cancel(false));
+        return result;
+    }
+
+    /** Sends one request under a bulkhead permit the caller has already acquired, releasing it once it ends. */
+    private CompletableFuture<PaymentResponse> sendAsync(PaymentRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            HttpEntity<?> httpEntity = new HttpEntity<>(request);
+                            String url = properties.paymentServiceUrl() + "/api/payments/validate";
+                            ResponseEntity<PaymentResponse> response =
+                                    restTemplate.exchange(url, HttpMethod.POST, httpEntity, PaymentResponse.class);
+                            return response.getBody();
+                        } finally {
+                            bulkhead.onComplete();
+                        }
+                    },
+                    executor);
+        } catch (RejectedExecutionException e) {
+            bulkhead.releasePermission();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
 }
@@ -1,51 +1,67 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.events;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.geovannycode.ecommerce.order.ApplicationProperties;
 import com.geovannycode.ecommerce.order.application.ports.output.EventPublisherPort;
-import com.geovannycode.ecommerce.order.common.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderCreatedEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderErrorEvent;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderEventType;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publishes outbox rows keyed by order number, so an order's events land on the same partition of each topic.
+ * Since each event type has its own topic, ordering across an order's events comes from {@code OrderOutboxRelay}
+ * waiting for each acknowledgement before sending the next. Each send is timed from hand-off to broker
+ * acknowledgement in {@code order.events.send}, tagged with the topic and outcome.
+ */
 @Component
 public class OrderEventPublisher implements EventPublisherPort {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final ApplicationProperties properties;
-    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     OrderEventPublisher(
-            KafkaTemplate<String, Object> kafkaTemplate, ApplicationProperties properties, ObjectMapper objectMapper) {
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            ApplicationProperties properties,
+            MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
         this.properties = properties;
-        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
 
-    public void publish(OrderCreatedEvent event) {
-        this.send(properties.newOrdersTopic(), event);
+    @Override
+    public CompletableFuture<Void> publish(OrderEventEntity event) {
+        return send(topicFor(event.getEventType()), event.getOrderNumber(), event.getPayload());
     }
 
-    public void publish(OrderDeliveredEvent event) {
-        this.send(properties.deliveredOrdersTopic(), event);
+    private String topicFor(OrderEventType eventType) {
+        return switch (eventType) {
+            case ORDER_CREATED -> properties.newOrdersTopic();
+            case ORDER_DELIVERED -> properties.deliveredOrdersTopic();
+            case ORDER_CANCELLED -> properties.cancelledOrdersTopic();
+            case ORDER_PROCESSING_FAILED -> properties.errorOrdersTopic();
+        };
     }
 
-    public void publish(OrderCancelledEvent event) {
-        this.send(properties.cancelledOrdersTopic(), event);
+    private CompletableFuture<Void> send(String topic, String orderNumber, byte[] payload) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return kafkaTemplate
+                .send(topic, orderNumber, payload)
+                .whenComplete((result, failure) -> sample.stop(Timer.builder("order.events.send")
+                        .description("Time until an order event is acknowledged by the broker")
+                        .tag("topic", topic)
+                        .tag("outcome", failure == null ? "success" : "error")
+                        .tag("exception", failure == null ? "none" : rootCause(failure))
+                        .register(meterRegistry)))
+                .thenApply(result -> null);
     }
 
-    public void publish(OrderErrorEvent event) {
-        this.send(properties.errorOrdersTopic(), event);
-    }
-
-    private void send(String topic, Object payload) {
-        try {
-            String jsonPayload = objectMapper.writeValueAsString(payload);
-            kafkaTemplate.send(topic, jsonPayload);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing event", e);
-        }
+    private static String rootCause(Throwable failure) {
+        Throwable cause =
+                failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause.getClass().getSimpleName();
     }
 }
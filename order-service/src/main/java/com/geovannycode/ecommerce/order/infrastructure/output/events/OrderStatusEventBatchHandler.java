@@ -0,0 +1,98 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.events.OrderEvent;
+import com.geovannycode.ecommerce.events.OrderEventCodec;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusChange;
+import com.geovannycode.ecommerce.order.application.service.OrderService;
+import com.geovannycode.ecommerce.order.domain.exception.InvalidStatusTransitionException;
+import com.geovannycode.ecommerce.order.domain.exception.OrderNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a batch of order event payloads into status changes and applies them in one transaction. Payloads are
+ * decoded with {@link OrderEventCodec}, or read as JSON when they predate it; payloads that can't be read are
+ * logged and skipped. If the batch transaction fails, the changes are applied one at a time;
+ * the first one that still fails is reported to the container by its index, so the records before it are
+ * committed and the rest are redelivered.
+ */
+@Component
+class OrderStatusEventBatchHandler {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusEventBatchHandler.class);
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    OrderStatusEventBatchHandler(OrderService orderService, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+    }
+
+    <E extends OrderEvent> void handle(
+            List<byte[]> payloads, Class<E> eventType, Function<E, OrderStatusChange> toChange) {
+        List<OrderStatusChange> changes = new ArrayList<>(payloads.size());
+        List<Integer> indexes = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            try {
+                changes.add(toChange.apply(read(payloads.get(i), eventType)));
+                indexes.add(i);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                log.error("Error processing {} of {} bytes", eventType.getSimpleName(), payloads.get(i).length);
+                log.error(e.getMessage(), e);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        log.info("Received {} {}s", changes.size(), eventType.getSimpleName());
+
+        try {
+            orderService.updateOrderStatuses(changes);
+            return;
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Batch of {} {}s failed, applying them one by one: {}",
+                    changes.size(),
+                    eventType.getSimpleName(),
+                    e.getMessage());
+        }
+        for (int i = 0; i < changes.size(); i++) {
+            OrderStatusChange change = changes.get(i);
+            try {
+                orderService.updateOrderStatus(change.orderNumber(), change.status(), change.comments());
+            } catch (InvalidStatusTransitionException e) {
+                log.warn(
+                        "Ignoring {}: {}",
+                        eventType.getSimpleName(),
+                        e.getBody().getDetail());
+            } catch (OrderNotFoundException e) {
+                log.info("Received {} for unknown order {}", eventType.getSimpleName(), change.orderNumber());
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException(
+                        "Failed to apply " + eventType.getSimpleName() + " for order " + change.orderNumber(),
+                        e,
+                        indexes.get(i));
+            }
+        }
+    }
+
+    private <E extends OrderEvent> E read(byte[] payload, Class<E> eventType) throws JsonProcessingException {
+        if (OrderEventCodec.isEncoded(payload)) {
+            return OrderEventCodec.decode(payload, eventType);
+        }
+        return objectMapper.readValue(unwrap(new String(payload, StandardCharsets.UTF_8)), eventType);
+    }
+
+    /** Records from older producers hold the event JSON encoded once more as a JSON string. */
+    private String unwrap(String payload) throws JsonProcessingException {
+        return payload.startsWith("\"") ? objectMapper.readValue(payload, String.class) : payload;
+    }
+}
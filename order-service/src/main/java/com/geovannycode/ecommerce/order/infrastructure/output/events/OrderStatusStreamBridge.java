@@ -0,0 +1,107 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.ApplicationProperties;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusUpdate;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.stream.OrderStatusStreamHub;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Carries committed status updates to the streams of every replica. An update is dispatched to this instance's
+ * subscribers directly and shared with the other replicas through the status stream topic, keyed by order number.
+ * Each instance reads the topic in its own consumer group, named after {@code app.status-stream.instance-id} or
+ * the host name, so a restarted instance rejoins its group instead of leaving a new one behind. Updates are only
+ * of use to streams open right now, so the consumer always starts at the end of its partitions, and skips the
+ * updates this process sent itself.
+ */
+@Component
+class OrderStatusStreamBridge implements ConsumerSeekAware {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusStreamBridge.class);
+
+    private final OrderStatusStreamHub hub;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final String origin = UUID.randomUUID().toString();
+    private final String groupId;
+
+    OrderStatusStreamBridge(
+            OrderStatusStreamHub hub,
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            ObjectMapper objectMapper,
+            ApplicationProperties properties) {
+        this.hub = hub;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = properties.statusStream().topic();
+        String instanceId = properties.statusStream().instanceId();
+        this.groupId =
+                "orders-status-stream-" + (instanceId != null && !instanceId.isBlank() ? instanceId : hostName());
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @TransactionalEventListener
+    void onStatusChanged(OrderStatusUpdate update) {
+        hub.dispatch(update);
+        try {
+            kafkaTemplate
+                    .send(topic, update.orderNumber(), objectMapper.writeValueAsBytes(new SharedUpdate(origin, update)))
+                    .whenComplete((result, failure) -> {
+                        if (failure != null) {
+                            log.warn(
+                                    "Failed to share status update of order {}: {}",
+                                    update.orderNumber(),
+                                    failure.getMessage());
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to share status update of order {}: {}", update.orderNumber(), e.getMessage());
+        }
+    }
+
+    @KafkaListener(
+            topics = "${app.status-stream.topic}",
+            groupId = "#{__listener.groupId}",
+            properties = "auto.offset.reset=latest")
+    void onSharedUpdate(byte[] payload) {
+        try {
+            SharedUpdate shared = objectMapper.readValue(payload, SharedUpdate.class);
+            if (!origin.equals(shared.origin())) {
+                hub.dispatch(shared.update());
+            }
+        } catch (IOException e) {
+            log.error("Ignoring unreadable order status update: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(
+                    "Cannot resolve the host name, set app.status-stream.instance-id for this instance", e);
+        }
+    }
+
+    private record SharedUpdate(String origin, OrderStatusUpdate update) {}
+}
@@ -1,10 +1,12 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.events.mapper;
 
-import com.geovannycode.ecommerce.order.common.model.OrderCancelledEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderCreatedEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderDeliveredEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderErrorEvent;
-import com.geovannycode.ecommerce.order.common.model.OrderItem;
+import com.geovannycode.ecommerce.events.OrderCancelledEvent;
+import com.geovannycode.ecommerce.events.OrderCreatedEvent;
+import com.geovannycode.ecommerce.events.OrderDeliveredEvent;
+import com.geovannycode.ecommerce.events.OrderErrorEvent;
+import com.geovannycode.ecommerce.events.OrderEvent;
+import com.geovannycode.ecommerce.order.common.model.Address;
+import com.geovannycode.ecommerce.order.common.model.Customer;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -18,8 +20,8 @@ public class OrderEventMapper {
                 UUID.randomUUID().toString(),
                 order.getOrderNumber(),
                 getOrderItems(order),
-                order.getCustomer(),
-                order.getDeliveryAddress(),
+                getCustomer(order.getCustomer()),
+                getAddress(order.getDeliveryAddress()),
                 LocalDateTime.now());
     }
 
@@ -28,8 +30,8 @@ public class OrderEventMapper {
                 UUID.randomUUID().toString(),
                 order.getOrderNumber(),
                 getOrderItems(order),
-                order.getCustomer(),
-                order.getDeliveryAddress(),
+                getCustomer(order.getCustomer()),
+                getAddress(order.getDeliveryAddress()),
                 LocalDateTime.now());
     }
 
@@ -38,8 +40,8 @@ public class OrderEventMapper {
                 UUID.randomUUID().toString(),
                 order.getOrderNumber(),
                 getOrderItems(order),
-                order.getCustomer(),
-                order.getDeliveryAddress(),
+                getCustomer(order.getCustomer()),
+                getAddress(order.getDeliveryAddress()),
                 reason,
                 LocalDateTime.now());
     }
@@ -49,15 +51,35 @@ public class OrderEventMapper {
                 UUID.randomUUID().toString(),
                 order.getOrderNumber(),
                 getOrderItems(order),
-                order.getCustomer(),
-                order.getDeliveryAddress(),
+                getCustomer(order.getCustomer()),
+                getAddress(order.getDeliveryAddress()),
                 reason,
                 LocalDateTime.now());
     }
 
-    public static Set<OrderItem> getOrderItems(OrderEntity order) {
+    public static Set<OrderEvent.Item> getOrderItems(OrderEntity order) {
         return order.getItems().stream()
-                .map(item -> new OrderItem(item.getCode(), item.getName(), item.getPrice(), item.getQuantity()))
+                .map(item -> new OrderEvent.Item(item.getCode(), item.getName(), item.getPrice(), item.getQuantity()))
                 .collect(Collectors.toSet());
     }
+
+    private static OrderEvent.Customer getCustomer(Customer customer) {
+        if (customer == null) {
+            return null;
+        }
+        return new OrderEvent.Customer(customer.getName(), customer.getEmail(), customer.getPhone());
+    }
+
+    private static OrderEvent.Address getAddress(Address address) {
+        if (address == null) {
+            return null;
+        }
+        return new OrderEvent.Address(
+                address.getAddressLine1(),
+                address.getAddressLine2(),
+                address.getCity(),
+                address.getState(),
+                address.getZipCode(),
+                address.getCountry());
+    }
 }
@@ -0,0 +1,63 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.application.dto.IdempotencyRecord;
+import com.geovannycode.ecommerce.order.application.ports.output.IdempotencyStore;
+import java.time.Duration;
+import java.util.Optional;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RedisIdempotencyStore implements IdempotencyStore {
+    private static final String KEY_PREFIX = "orders:idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean claim(String key, String fingerprint, Duration ttl) {
+        Boolean claimed = redisTemplate
+                .opsForValue()
+                .setIfAbsent(KEY_PREFIX + key, toJson(new IdempotencyRecord(fingerprint, null)), ttl);
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(KEY_PREFIX + key))
+                .map(this::fromJson);
+    }
+
+    @Override
+    public void complete(String key, String fingerprint, String orderNumber, Duration ttl) {
+        redisTemplate.opsForValue().set(KEY_PREFIX + key, toJson(new IdempotencyRecord(fingerprint, orderNumber)), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+
+    private String toJson(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private IdempotencyRecord fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.ordernumber;
+
+import com.geovannycode.ecommerce.order.application.ports.output.OrderNumberGenerator;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: a 48-bit millisecond timestamp, a 12-bit counter and 62 random bits.
+ * Order numbers therefore sort by creation time, so inserts append to the right edge of the order number
+ * index instead of landing on random pages. Within one instance they are strictly increasing: the counter
+ * starts at a random value each millisecond and, if it overflows or the clock steps back, the timestamp is
+ * advanced past the last one issued. Uniqueness across instances rests on the random bits.
+ */
+@Component
+public class UuidV7OrderNumberGenerator implements OrderNumberGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private long lastTimestamp = -1;
+    private int counter;
+
+    public UuidV7OrderNumberGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    UuidV7OrderNumberGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextOrderNumber() {
+        return nextUuid().toString();
+    }
+
+    synchronized UUID nextUuid() {
+        long timestamp = clock.millis();
+        if (timestamp > lastTimestamp) {
+            lastTimestamp = timestamp;
+            // Leave headroom so the counter rarely overflows within one millisecond.
+            counter = random.nextInt(MAX_COUNTER / 2 + 1);
+        } else if (counter < MAX_COUNTER) {
+            counter++;
+        } else {
+            lastTimestamp++;
+            counter = 0;
+        }
+        long mostSigBits = (lastTimestamp << 16) | (0x7L << 12) | counter;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
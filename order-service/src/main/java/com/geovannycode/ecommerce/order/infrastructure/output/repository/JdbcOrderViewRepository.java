@@ -0,0 +1,114 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderViewRepository;
+import com.geovannycode.ecommerce.order.common.model.OrderDTO;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class JdbcOrderViewRepository implements OrderViewRepository {
+
+    private static final String INSERT_SQL =
+            """
+            insert into order_views (order_number, username, document, updated_at)
+            values (?, ?, ?::jsonb, ?)
+            """;
+
+    private static final String UPDATE_STATUS_SQL =
+            """
+            update order_views
+            set document = document || jsonb_build_object('status', ?::text), updated_at = ?
+            where order_number = any(?)
+            """;
+
+    private static final String UPDATE_STATUS_AND_COMMENTS_SQL =
+            """
+            update order_views
+            set document = document || jsonb_build_object('status', ?::text, 'comments', ?::text), updated_at = ?
+            where order_number = any(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public JdbcOrderViewRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void saveAll(List<OrderDTO> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, orders, orders.size(), (ps, order) -> {
+            ps.setString(1, order.orderNumber());
+            ps.setString(2, order.user());
+            ps.setString(3, toJson(order));
+            ps.setObject(4, now);
+        });
+    }
+
+    @Override
+    public void updateStatus(Collection<String> orderNumbers, OrderStatus status, String comments) {
+        if (orderNumbers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(connection -> {
+            var ps = connection.prepareStatement(comments == null ? UPDATE_STATUS_SQL : UPDATE_STATUS_AND_COMMENTS_SQL);
+            int index = 1;
+            ps.setString(index++, status.name());
+            if (comments != null) {
+                ps.setString(index++, comments);
+            }
+            ps.setObject(index++, now);
+            ps.setArray(index, connection.createArrayOf("text", orderNumbers.toArray()));
+            return ps;
+        });
+    }
+
+    @Override
+    public Optional<OrderDTO> findByOrderNumber(String orderNumber) {
+        return jdbcTemplate
+                .query(
+                        "select document from order_views where order_number = ?",
+                        (rs, rowNum) -> fromJson(rs.getString(1)),
+                        orderNumber)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<OrderDTO> findByUserNameAndOrderNumber(String userName, String orderNumber) {
+        return jdbcTemplate
+                .query(
+                        "select document from order_views where order_number = ? and username = ?",
+                        (rs, rowNum) -> fromJson(rs.getString(1)),
+                        orderNumber,
+                        userName)
+                .stream()
+                .findFirst();
+    }
+
+    private String toJson(OrderDTO order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private OrderDTO fromJson(String document) {
+        try {
+            return objectMapper.readValue(document, OrderDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
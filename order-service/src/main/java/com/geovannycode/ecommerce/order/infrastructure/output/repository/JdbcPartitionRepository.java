@@ -0,0 +1,153 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.repository;
+
+import com.geovannycode.ecommerce.order.application.ports.output.PartitionRepository;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Partition DDL for PostgreSQL. Table names only ever come from the maintenance job's fixed list and partition
+ * names are derived from them, so they are formatted into the statements directly.
+ */
+@Repository
+public class JdbcPartitionRepository implements PartitionRepository {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'_p'uuuu_MM");
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+
+    /** Orders the processing job or checkout still move along; ERROR is left for manual follow-up. */
+    private static final Set<OrderStatus> OPEN_ORDER_STATUSES =
+            EnumSet.of(OrderStatus.PENDING, OrderStatus.NEW, OrderStatus.IN_PROCESS, OrderStatus.PAYMENT_REJECTED);
+
+    private static final Map<String, String> ACTIVE_ROWS_CONDITIONS = Map.of(
+            "orders",
+            OPEN_ORDER_STATUSES.stream()
+                    .map(status -> "'" + status.name() + "'")
+                    .collect(Collectors.joining(", ", "status in (", ")")),
+            "order_events",
+            "published = false");
+
+    private static final String ATTACHED_PARTITIONS_SQL =
+            """
+            select c.relname
+            from pg_inherits i
+                     join pg_class c on c.oid = i.inhrelid
+            where i.inhparent = to_regclass(?)
+            """;
+
+    private static final String DETACHED_PARTITIONS_SQL =
+            """
+            select c.relname
+            from pg_class c
+                     join pg_namespace n on n.oid = c.relnamespace
+            where n.nspname = current_schema()
+              and c.relkind = 'r'
+              and starts_with(c.relname, ? || '_p')
+              and not exists (select 1 from pg_inherits i where i.inhrelid = c.oid)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void createPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("create table if not exists %s partition of %s for values from ('%s') to ('%s')"
+                .formatted(
+                        partitionName(table, month),
+                        table,
+                        month.atDay(1).atStartOfDay(),
+                        month.plusMonths(1).atDay(1).atStartOfDay()));
+    }
+
+    @Override
+    public List<YearMonth> findAttachedPartitions(String table) {
+        return toMonths(table, jdbcTemplate.queryForList(ATTACHED_PARTITIONS_SQL, String.class, table));
+    }
+
+    @Override
+    public boolean hasActiveRows(String table, YearMonth month) {
+        String condition = ACTIVE_ROWS_CONDITIONS.get(table);
+        if (condition == null) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from %s where %s)".formatted(partitionName(table, month), condition),
+                Boolean.class));
+    }
+
+    @Override
+    public void detachPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("alter table %s detach partition %s".formatted(table, partitionName(table, month)));
+    }
+
+    @Override
+    public List<YearMonth> findDetachedPartitions(String table) {
+        return toMonths(table, jdbcTemplate.queryForList(DETACHED_PARTITIONS_SQL, String.class, table));
+    }
+
+    @Override
+    public Path archivePartition(String table, YearMonth month, Path directory) {
+        String partition = partitionName(table, month);
+        Path file = directory.resolve(table).resolve(partition + ".csv.gz");
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(partial), ARCHIVE_BUFFER_SIZE),
+                    ARCHIVE_BUFFER_SIZE)) {
+                jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    try {
+                        return connection
+                                .unwrap(PGConnection.class)
+                                .getCopyAPI()
+                                .copyOut("copy %s to stdout (format csv, header)".formatted(partition), out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive " + partition, e);
+        }
+        if (table.equals("orders")) {
+            // the read model has no partitions of its own; archived orders leave it along with their partition
+            jdbcTemplate.update(
+                    "delete from order_views v using %s o where v.order_number = o.order_number".formatted(partition));
+        }
+        jdbcTemplate.execute("drop table " + partition);
+        return file;
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return table + SUFFIX.format(month);
+    }
+
+    private static List<YearMonth> toMonths(String table, List<String> partitions) {
+        return partitions.stream()
+                .filter(partition -> partition.matches(table + "_p\\d{4}_\\d{2}"))
+                .map(partition -> YearMonth.parse(partition.substring(table.length()), SUFFIX))
+                .sorted()
+                .toList();
+    }
+}
@@ -1,26 +1,66 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.repository;
 
 import com.geovannycode.ecommerce.order.application.ports.output.OrderEventRepository;
-import com.geovannycode.ecommerce.order.common.model.enums.OrderEventType;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class JpaOrderEventRepository implements OrderEventRepository {
 
+    /** Claims the event key and inserts the event only if the key was new, in one statement. */
+    private static final String INSERT_SQL =
+            """
+            with claimed as (
+                insert into order_event_keys (event_key, created_at) values (?, ?)
+                on conflict do nothing
+                returning event_key
+            )
+            insert into order_events
+                (order_number, event_id, event_key, event_type, payload, created_at, updated_at, published)
+            select ?, ?, event_key, ?, ?, ?, ?, ? from claimed
+            """;
+
     private final SpringDataOrderEventRepository springDataOrderEventRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public JpaOrderEventRepository(SpringDataOrderEventRepository springDataOrderEventRepository) {
+    public JpaOrderEventRepository(
+            SpringDataOrderEventRepository springDataOrderEventRepository, JdbcTemplate jdbcTemplate) {
         this.springDataOrderEventRepository = springDataOrderEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean save(OrderEventEntity event) {
+        return saveAll(List.of(event)) > 0;
     }
 
     @Override
-    public void save(OrderEventEntity event) {
-        springDataOrderEventRepository.save(event);
+    public int saveAll(List<OrderEventEntity> events) {
+        LocalDateTime now = LocalDateTime.now();
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getEventKey());
+            ps.setObject(2, now);
+            ps.setString(3, event.getOrderNumber());
+            ps.setString(4, event.getEventId());
+            ps.setString(5, event.getEventType().name());
+            ps.setBytes(6, event.getPayload());
+            ps.setObject(7, now);
+            ps.setObject(8, now);
+            ps.setBoolean(9, Boolean.TRUE.equals(event.getPublished()));
+        });
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                inserted += Math.max(count, 0);
+            }
+        }
+        return inserted;
     }
 
     @Override
@@ -39,19 +79,17 @@ public class JpaOrderEventRepository implements OrderEventRepository {
     }
 
     @Override
-    public boolean existsByEventId(String eventId) {
-        return springDataOrderEventRepository.existsByEventId(eventId);
+    public List<OrderEventEntity> claimUnpublished(int limit) {
+        return springDataOrderEventRepository.claimUnpublished(limit);
     }
 
     @Override
-    public List<OrderEventEntity> findByPublishedFalse(Sort sort) {
-        return springDataOrderEventRepository.findByPublishedFalse(sort);
+    public void markPublished(Collection<Long> ids) {
+        springDataOrderEventRepository.markPublished(ids, LocalDateTime.now());
     }
 
     @Override
-    public boolean existsByOrderNumberAndEventTypeAndCreatedAtAfter(
-            String orderNumber, OrderEventType eventType, LocalDateTime createdAt) {
-        return springDataOrderEventRepository.existsByOrderNumberAndEventTypeAndCreatedAtAfter(
-                orderNumber, eventType, createdAt);
+    public int deleteEventKeysCreatedBefore(LocalDateTime createdBefore) {
+        return jdbcTemplate.update("delete from order_event_keys where created_at < ?", createdBefore);
     }
 }
@@ -1,9 +1,17 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.repository;
 
+import com.geovannycode.ecommerce.order.application.dto.OrderCursor;
+import com.geovannycode.ecommerce.order.application.dto.OrderPage;
+import com.geovannycode.ecommerce.order.application.dto.OrderSearchCriteria;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusSnapshot;
 import com.geovannycode.ecommerce.order.application.dto.OrderSummary;
 import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
@@ -11,14 +19,38 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class JpaOrderRepository implements OrderRepository {
     private final SpringDataOrderRepository springDataOrderRepository;
+    private final EntityManager entityManager;
 
-    public JpaOrderRepository(SpringDataOrderRepository springDataOrderRepository) {
+    public JpaOrderRepository(SpringDataOrderRepository springDataOrderRepository, EntityManager entityManager) {
         this.springDataOrderRepository = springDataOrderRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
-    public List<OrderEntity> findOrderByStatus(OrderStatus status) {
-        return springDataOrderRepository.findByStatus(status);
+    public List<OrderEntity> lockNextByStatus(
+            OrderStatus status, int partition, int partitions, long afterId, int limit) {
+        return springDataOrderRepository.lockNextByStatus(status.name(), partition, partitions, afterId, limit);
+    }
+
+    @Override
+    public List<OrderEntity> lockCreatedBeforeByStatus(OrderStatus status, LocalDateTime before, int limit) {
+        return springDataOrderRepository.lockCreatedBeforeByStatus(status.name(), before, limit);
+    }
+
+    @Override
+    public List<OrderEntity> findAllWithItems(Collection<Long> ids) {
+        return springDataOrderRepository.findAllWithItems(ids);
+    }
+
+    @Override
+    public List<OrderEntity> findAllWithItemsByOrderNumbers(Collection<String> orderNumbers) {
+        return springDataOrderRepository.findAllWithItemsByOrderNumbers(orderNumbers);
+    }
+
+    @Override
+    public void updateOrderStatuses(
+            Collection<Long> ids, OrderStatus status, String comments, LocalDateTime updatedAt) {
+        springDataOrderRepository.updateOrderStatuses(ids, status, comments, updatedAt);
     }
 
     @Override
@@ -27,16 +59,80 @@ public class JpaOrderRepository implements OrderRepository {
     }
 
     @Override
-    public void updateOrderStatus(String orderNumber, OrderStatus status) {
-        OrderEntity order =
-                springDataOrderRepository.findByOrderNumber(orderNumber).orElseThrow();
-        order.setStatus(status);
-        springDataOrderRepository.save(order);
+    public Optional<OrderStatusSnapshot> findStatusByOrderNumber(String orderNumber) {
+        return springDataOrderRepository.findStatusByOrderNumber(orderNumber);
+    }
+
+    @Override
+    public boolean compareAndSetStatus(
+            String orderNumber,
+            OrderStatus expectedStatus,
+            long expectedVersion,
+            OrderStatus newStatus,
+            String comments,
+            LocalDateTime updatedAt) {
+        return springDataOrderRepository.compareAndSetStatus(
+                        orderNumber, expectedStatus, expectedVersion, newStatus, comments, updatedAt)
+                == 1;
     }
 
     @Override
-    public List<OrderSummary> findByUserName(String userName) {
-        return springDataOrderRepository.findByUserName(userName);
+    public OrderPage findByUserName(String userName, OrderSearchCriteria criteria, OrderCursor after, int limit) {
+        String comparison = criteria.oldestFirst() ? ">" : "<";
+        String direction = criteria.oldestFirst() ? "asc" : "desc";
+        StringBuilder jpql = new StringBuilder(
+                "select o.id, o.orderNumber, o.status, o.createdAt from OrderEntity o where o.userName = :userName");
+        boolean filterStatus =
+                criteria.statuses() != null && !criteria.statuses().isEmpty();
+        if (filterStatus) {
+            jpql.append(" and o.status in :statuses");
+        }
+        if (criteria.createdFrom() != null) {
+            jpql.append(" and o.createdAt >= :createdFrom");
+        }
+        if (criteria.createdTo() != null) {
+            jpql.append(" and o.createdAt < :createdTo");
+        }
+        if (after != null) {
+            jpql.append(" and (o.createdAt ")
+                    .append(comparison)
+                    .append(" :afterCreatedAt or (o.createdAt = :afterCreatedAt and o.id ")
+                    .append(comparison)
+                    .append(" :afterId))");
+        }
+        jpql.append(" order by o.createdAt ")
+                .append(direction)
+                .append(", o.id ")
+                .append(direction);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        query.setParameter("userName", userName);
+        if (filterStatus) {
+            query.setParameter("statuses", criteria.statuses());
+        }
+        if (criteria.createdFrom() != null) {
+            query.setParameter("createdFrom", criteria.createdFrom());
+        }
+        if (criteria.createdTo() != null) {
+            query.setParameter("createdTo", criteria.createdTo());
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.createdAt());
+            query.setParameter("afterId", after.id());
+        }
+        List<Object[]> rows = query.setMaxResults(limit + 1).getResultList();
+
+        boolean hasNext = rows.size() > limit;
+        List<Object[]> page = hasNext ? rows.subList(0, limit) : rows;
+        List<OrderSummary> orders = page.stream()
+                .map(row -> new OrderSummary((String) row[1], (OrderStatus) row[2], (LocalDateTime) row[3]))
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = page.getLast();
+            nextCursor = new OrderCursor((LocalDateTime) last[3], (Long) last[0]).encode();
+        }
+        return new OrderPage(orders, nextCursor);
     }
 
     @Override
@@ -49,6 +145,11 @@ public class JpaOrderRepository implements OrderRepository {
         return springDataOrderRepository.save(orderEntity);
     }
 
+    @Override
+    public List<OrderEntity> saveAll(List<OrderEntity> orderEntities) {
+        return springDataOrderRepository.saveAllAndFlush(orderEntities);
+    }
+
     @Override
     public boolean existsByOrderNumber(String orderNumber) {
         return springDataOrderRepository.existsByOrderNumber(orderNumber);
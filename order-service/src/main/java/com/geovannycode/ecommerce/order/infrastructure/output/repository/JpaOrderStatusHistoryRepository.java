@@ -3,18 +3,41 @@ package com.geovannycode.ecommerce.order.infrastructure.output.repository;
 import com.geovannycode.ecommerce.order.application.ports.output.OrderStatusHistoryRepository;
 import com.geovannycode.ecommerce.order.common.model.OrderStatusHistory;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderStatusHistoryEntity;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class JpaOrderStatusHistoryRepository implements OrderStatusHistoryRepository {
 
+    private static final String STAGE_SQL =
+            """
+            insert into order_status_history_staging (order_number, previous_status, new_status, comments, changed_at, changed_by)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String MOVE_STAGED_SQL =
+            """
+            with moved as (
+                delete from order_status_history_staging
+                where id in (select id from order_status_history_staging order by id limit ? for update skip locked)
+                returning order_number, previous_status, new_status, comments, changed_at, changed_by
+            )
+            insert into order_status_history (order_number, previous_status, new_status, comments, changed_at, changed_by)
+            select order_number, previous_status, new_status, comments, changed_at, changed_by
+            from moved
+            """;
+
     private final SpringDataOrderStatusHistoryRepository springDataOrderStatusHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     public JpaOrderStatusHistoryRepository(
-            SpringDataOrderStatusHistoryRepository springDataOrderStatusHistoryRepository) {
+            SpringDataOrderStatusHistoryRepository springDataOrderStatusHistoryRepository, JdbcTemplate jdbcTemplate) {
         this.springDataOrderStatusHistoryRepository = springDataOrderStatusHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -23,6 +46,17 @@ public class JpaOrderStatusHistoryRepository implements OrderStatusHistoryReposi
         springDataOrderStatusHistoryRepository.save(entity);
     }
 
+    @Override
+    public void stageAll(List<OrderStatusHistory> orderStatusHistories) {
+        jdbcTemplate.batchUpdate(
+                STAGE_SQL, orderStatusHistories, orderStatusHistories.size(), JpaOrderStatusHistoryRepository::bind);
+    }
+
+    @Override
+    public int moveStaged(int limit) {
+        return jdbcTemplate.update(MOVE_STAGED_SQL, limit);
+    }
+
     @Override
     public List<OrderStatusHistory> findByOrderNumber(String orderNumber) {
         return springDataOrderStatusHistoryRepository.findByOrderNumberOrderByChangedAtDesc(orderNumber).stream()
@@ -41,6 +75,19 @@ public class JpaOrderStatusHistoryRepository implements OrderStatusHistoryReposi
         return entity;
     }
 
+    private static void bind(PreparedStatement ps, OrderStatusHistory history) throws SQLException {
+        ps.setString(1, history.getOrderNumber());
+        ps.setString(
+                2,
+                history.getPreviousStatus() != null
+                        ? history.getPreviousStatus().name()
+                        : null);
+        ps.setString(3, history.getNewStatus().name());
+        ps.setString(4, history.getComments());
+        ps.setObject(5, history.getChangedAt());
+        ps.setString(6, history.getChangedBy());
+    }
+
     private OrderStatusHistory mapToDomain(OrderStatusHistoryEntity entity) {
         return new OrderStatusHistory(
                 entity.getOrderNumber(),
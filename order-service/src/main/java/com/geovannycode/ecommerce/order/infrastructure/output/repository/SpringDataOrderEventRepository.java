@@ -1,17 +1,48 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.repository;
 
-import com.geovannycode.ecommerce.order.common.model.enums.OrderEventType;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SpringDataOrderEventRepository extends JpaRepository<OrderEventEntity, Long> {
-    boolean existsByEventId(String eventId);
+    /**
+     * Claims whole orders: the oldest unpublished row of each order acts as that order's lock, taken with
+     * {@code SKIP LOCKED} so orders held by another relay are left out. Every other unpublished row of a claimed
+     * order is then locked as well; no relay locks those without first holding the order's oldest row.
+     */
+    @Query(
+            value =
+                    """
+            with heads as (
+                select distinct on (order_number) id, created_at
+                from order_events
+                where published = false
+                order by order_number, created_at, id
+            ),
+            claimed as (
+                select e.order_number
+                from order_events e
+                join heads h on h.id = e.id and h.created_at = e.created_at
+                where e.published = false
+                order by e.created_at, e.id
+                limit :limit
+                for update of e skip locked
+            )
+            select * from order_events
+            where published = false
+              and order_number in (select order_number from claimed)
+            order by created_at, id
+            for update
+            """,
+            nativeQuery = true)
+    List<OrderEventEntity> claimUnpublished(@Param("limit") int limit);
 
-    List<OrderEventEntity> findByPublishedFalse(Sort sort);
-
-    boolean existsByOrderNumberAndEventTypeAndCreatedAtAfter(
-            String orderNumber, OrderEventType eventType, LocalDateTime createdAt);
+    @Modifying
+    @Query("update OrderEventEntity e set e.published = true, e.updatedAt = :updatedAt where e.id in :ids")
+    void markPublished(@Param("ids") Collection<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
 }
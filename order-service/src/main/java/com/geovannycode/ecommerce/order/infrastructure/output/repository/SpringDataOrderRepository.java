@@ -1,25 +1,107 @@
 package com.geovannycode.ecommerce.order.infrastructure.output.repository;
 
-import com.geovannycode.ecommerce.order.application.dto.OrderSummary;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusSnapshot;
 import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
 import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SpringDataOrderRepository extends JpaRepository<OrderEntity, Long> {
-    List<OrderEntity> findByStatus(OrderStatus status);
+    @Query(
+            value =
+                    """
+        select * from orders
+        where status = :status
+          and mod(hashtext(order_number) & 2147483647, :partitions) = :partition
+          and id > :afterId
+        order by id
+        limit :limit
+        for update skip locked
+        """,
+            nativeQuery = true)
+    List<OrderEntity> lockNextByStatus(
+            @Param("status") String status,
+            @Param("partition") int partition,
+            @Param("partitions") int partitions,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    @Query(
+            value =
+                    """
+        select * from orders
+        where status = :status
+          and created_at < :before
+        order by id
+        limit :limit
+        for update skip locked
+        """,
+            nativeQuery = true)
+    List<OrderEntity> lockCreatedBeforeByStatus(
+            @Param("status") String status, @Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Query(
+            """
+        select distinct o
+        from OrderEntity o left join fetch o.items
+        where o.id in :ids
+        """)
+    List<OrderEntity> findAllWithItems(@Param("ids") Collection<Long> ids);
+
+    @Query(
+            """
+        select distinct o
+        from OrderEntity o left join fetch o.items
+        where o.orderNumber in :orderNumbers
+        """)
+    List<OrderEntity> findAllWithItemsByOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    @Modifying
+    @Query(
+            """
+        update OrderEntity o
+        set o.status = :status, o.comments = :comments, o.updatedAt = :updatedAt, o.version = o.version + 1
+        where o.id in :ids
+        """)
+    void updateOrderStatuses(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") OrderStatus status,
+            @Param("comments") String comments,
+            @Param("updatedAt") LocalDateTime updatedAt);
 
     Optional<OrderEntity> findByOrderNumber(String orderNumber);
 
     @Query(
             """
-        select new com.geovannycode.ecommerce.order.application.dto.OrderSummary(o.orderNumber, o.status)
+        select new com.geovannycode.ecommerce.order.application.dto.OrderStatusSnapshot(o.status, o.version, o.userName)
         from OrderEntity o
-        where o.userName = :userName
+        where o.orderNumber = :orderNumber
+        """)
+    Optional<OrderStatusSnapshot> findStatusByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+            """
+        update OrderEntity o
+        set o.status = :newStatus,
+            o.comments = coalesce(:comments, o.comments),
+            o.updatedAt = :updatedAt,
+            o.version = o.version + 1
+        where o.orderNumber = :orderNumber and o.status = :expectedStatus and o.version = :expectedVersion
         """)
-    List<OrderSummary> findByUserName(String userName);
+    int compareAndSetStatus(
+            @Param("orderNumber") String orderNumber,
+            @Param("expectedStatus") OrderStatus expectedStatus,
+            @Param("expectedVersion") long expectedVersion,
+            @Param("newStatus") OrderStatus newStatus,
+            @Param("comments") String comments,
+            @Param("updatedAt") LocalDateTime updatedAt);
 
     @Query(
             """
@@ -29,11 +29,14 @@ public class OrderEventEntity {
     @Column(nullable = false, unique = true)
     private String eventId;
 
+    @Column(name = "event_key", updatable = false)
+    private String eventKey;
+
     @Enumerated(EnumType.STRING)
     private OrderEventType eventType;
 
     @Column(nullable = false)
-    private String payload;
+    private byte[] payload;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -79,6 +82,14 @@ public class OrderEventEntity {
         this.eventId = eventId;
     }
 
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public void setEventKey(String eventKey) {
+        this.eventKey = eventKey;
+    }
+
     public OrderEventType getEventType() {
         return eventType;
     }
@@ -87,11 +98,11 @@ public class OrderEventEntity {
         this.eventType = eventType;
     }
 
-    public String getPayload() {
+    public byte[] getPayload() {
         return payload;
     }
 
-    public void setPayload(String payload) {
+    public void setPayload(byte[] payload) {
         this.payload = payload;
     }
 
@@ -123,10 +134,11 @@ public class OrderEventEntity {
     public String toString() {
         return "OrderEventEntity{" + "id="
                 + id + ", eventId='"
-                + eventId + '\'' + ", orderNumber='"
+                + eventId + '\'' + ", eventKey='"
+                + eventKey + '\'' + ", orderNumber='"
                 + orderNumber + '\'' + ", eventType="
-                + eventType + ", payload='"
-                + payload + '\'' + ", createdAt="
+                + eventType + ", payloadSize="
+                + (payload == null ? 0 : payload.length) + ", createdAt="
                 + createdAt + ", updatedAt="
                 + updatedAt + '}';
     }
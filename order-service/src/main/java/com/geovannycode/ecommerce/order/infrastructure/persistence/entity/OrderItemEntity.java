@@ -7,9 +7,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_items")
@@ -35,6 +37,10 @@ public class OrderItemEntity {
     @JoinColumn(name = "order_id")
     private OrderEntity orderEntity;
 
+    /** Partition key of order_items, copied from the order so items are archived with it. */
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
     public OrderItemEntity(String code, String name, BigDecimal price, Integer quantity) {
         this.code = code;
         this.name = name;
@@ -44,6 +50,11 @@ public class OrderItemEntity {
 
     public OrderItemEntity() {}
 
+    @PrePersist
+    public void prePersist() {
+        this.orderCreatedAt = orderEntity.getCreatedAt();
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,166 @@
+-- orders, order_items, order_events and order_status_history become range partitioned by month. Existing rows
+-- are copied into monthly partitions, which are created from the oldest row up to three months ahead; a default
+-- partition catches anything outside that range. Later months are created by the partition maintenance job.
+
+create function pg_temp.create_monthly_partitions(parent text, oldest timestamp) returns void as
+$$
+declare
+    partition_start timestamp;
+begin
+    for partition_start in
+        select generate_series(date_trunc('month', least(coalesce(oldest, now()), now())),
+                               date_trunc('month', now()) + interval '3 months',
+                               interval '1 month')
+        loop
+            execute format('create table %I partition of %I for values from (%L) to (%L)',
+                           parent || '_p' || to_char(partition_start, 'YYYY_MM'), parent, partition_start,
+                           partition_start + interval '1 month');
+        end loop;
+    execute format('create table %I partition of %I default', parent || '_default', parent);
+end;
+$$ language plpgsql;
+
+-- Unique constraints on a partitioned table have to include the partition key, so neither orders.id nor
+-- orders.order_number can be referenced by a foreign key any more, and unique (order_number, created_at) only
+-- holds within a partition. Order numbers are kept unique across partitions by the order_views primary key: the
+-- view row is written with a plain insert in the same transaction as the order, so a duplicate order number
+-- fails and rolls the order back.
+alter table order_items drop constraint order_items_order_id_fkey;
+alter table order_events drop constraint order_events_order_number_fkey;
+
+-- orders
+update orders set created_at = coalesce(updated_at, now()) where created_at is null;
+
+drop index idx_orders_status_id;
+drop index idx_orders_username_created_at;
+alter table orders rename to orders_unpartitioned;
+alter index orders_pkey rename to orders_unpartitioned_pkey;
+alter index orders_order_number_key rename to orders_unpartitioned_order_number_key;
+
+create table orders
+(
+    id                        bigint default nextval('order_id_seq') not null,
+    order_number              text      not null,
+    username                  text      not null,
+    customer_name             text      not null,
+    customer_email            text      not null,
+    customer_phone            text      not null,
+    delivery_address_line1    text      not null,
+    delivery_address_line2    text,
+    delivery_address_city     text      not null,
+    delivery_address_state    text      not null,
+    delivery_address_zip_code text      not null,
+    delivery_address_country  text      not null,
+    status                    text      not null,
+    comments                  text,
+    created_at                timestamp not null,
+    updated_at                timestamp,
+    version                   bigint    not null default 0,
+    primary key (id, created_at),
+    unique (order_number, created_at)
+) partition by range (created_at);
+
+select pg_temp.create_monthly_partitions('orders', (select min(created_at) from orders_unpartitioned));
+
+insert into orders
+select id, order_number, username, customer_name, customer_email, customer_phone, delivery_address_line1,
+       delivery_address_line2, delivery_address_city, delivery_address_state, delivery_address_zip_code,
+       delivery_address_country, status, comments, created_at, updated_at, version
+from orders_unpartitioned;
+
+create index idx_orders_status_id on orders (status, id);
+create index idx_orders_username_created_at
+    on orders (username, created_at desc, id desc)
+    include (order_number, status);
+
+-- order_items follow their order's partition, so a month of orders is archived together with its items
+alter table order_items rename to order_items_unpartitioned;
+alter index order_items_pkey rename to order_items_unpartitioned_pkey;
+
+create table order_items
+(
+    id               bigint default nextval('order_item_id_seq') not null,
+    code             text      not null,
+    name             text      not null,
+    price            numeric   not null,
+    quantity         integer   not null,
+    order_id         bigint    not null,
+    order_created_at timestamp not null,
+    primary key (id, order_created_at)
+) partition by range (order_created_at);
+
+select pg_temp.create_monthly_partitions('order_items', (select min(created_at) from orders_unpartitioned));
+
+insert into order_items (id, code, name, price, quantity, order_id, order_created_at)
+select i.id, i.code, i.name, i.price, i.quantity, i.order_id, o.created_at
+from order_items_unpartitioned i
+         join orders_unpartitioned o on o.id = i.order_id;
+
+create index idx_order_items_order_id on order_items (order_id);
+
+drop table order_items_unpartitioned;
+drop table orders_unpartitioned;
+
+-- order_events
+drop index idx_order_events_order_number;
+drop index idx_order_events_event_type;
+drop index idx_order_events_unpublished;
+alter table order_events rename to order_events_unpartitioned;
+alter index order_events_pkey rename to order_events_unpartitioned_pkey;
+alter index order_events_event_id_key rename to order_events_unpartitioned_event_id_key;
+
+create table order_events
+(
+    id           bigint default nextval('order_event_id_seq') not null,
+    order_number text      not null,
+    event_id     text      not null,
+    event_type   text      not null,
+    payload      text      not null,
+    created_at   timestamp not null,
+    updated_at   timestamp,
+    published    boolean   not null default false,
+    primary key (id, created_at),
+    unique (event_id, created_at)
+) partition by range (created_at);
+
+select pg_temp.create_monthly_partitions('order_events', (select min(created_at) from order_events_unpartitioned));
+
+insert into order_events (id, order_number, event_id, event_type, payload, created_at, updated_at, published)
+select id, order_number, event_id, event_type, payload, created_at, updated_at, published
+from order_events_unpartitioned;
+
+create index idx_order_events_order_number on order_events (order_number);
+create index idx_order_events_event_type on order_events (event_type);
+create index idx_order_events_unpublished on order_events (created_at, id) where published = false;
+
+drop table order_events_unpartitioned;
+
+-- order_status_history
+drop index idx_order_status_history_order_number_changed_at;
+alter table order_status_history rename to order_status_history_unpartitioned;
+alter index order_status_history_pkey rename to order_status_history_unpartitioned_pkey;
+
+create table order_status_history
+(
+    id              bigint default nextval('order_status_history_id_seq') not null,
+    order_number    text      not null,
+    previous_status text,
+    new_status      text      not null,
+    comments        text,
+    changed_at      timestamp not null,
+    changed_by      text,
+    primary key (id, changed_at)
+) partition by range (changed_at);
+
+select pg_temp.create_monthly_partitions('order_status_history',
+                                         (select min(changed_at) from order_status_history_unpartitioned));
+
+insert into order_status_history (id, order_number, previous_status, new_status, comments, changed_at, changed_by)
+select id, order_number, previous_status, new_status, comments, changed_at, changed_by
+from order_status_history_unpartitioned;
+
+create index idx_order_status_history_order_number_changed_at
+    on order_status_history (order_number, changed_at desc)
+    include (id, previous_status, new_status, comments, changed_by);
+
+drop table order_status_history_unpartitioned;
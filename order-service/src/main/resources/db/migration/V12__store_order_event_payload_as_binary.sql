@@ -0,0 +1,3 @@
+-- Outbox payloads are now written in the binary order event encoding and sent to Kafka as stored. Rows written
+-- before this change keep their JSON, which consumers still accept.
+alter table order_events alter column payload type bytea using convert_to(payload, 'UTF8');
@@ -0,0 +1,13 @@
+-- Every event carries a key derived from its order number, event type and the order version it was written for,
+-- so the same transition can't produce two events. order_events is partitioned by created_at and a unique index
+-- there could only cover one month, so the keys live in their own table and an event is inserted only when its
+-- key was new. Keys are removed together with the event partitions they belong to.
+create table order_event_keys
+(
+    event_key  text      not null primary key,
+    created_at timestamp not null
+);
+
+create index idx_order_event_keys_created_at on order_event_keys (created_at);
+
+alter table order_events add column event_key text;
@@ -0,0 +1,13 @@
+-- Status transitions append their history entries here, batched per transaction just before it commits, so the
+-- entries are durable once the transitions are. The table has no index besides its primary key; entries are moved
+-- into order_status_history in batches by the history writer, which keeps that table's indexes off the request path.
+create table order_status_history_staging
+(
+    id              bigserial primary key,
+    order_number    text      not null,
+    previous_status text,
+    new_status      text      not null,
+    comments        text,
+    changed_at      timestamp not null,
+    changed_by      text
+);
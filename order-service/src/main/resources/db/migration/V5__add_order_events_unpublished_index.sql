@@ -0,0 +1,3 @@
+drop index if exists idx_order_events_published;
+
+create index idx_order_events_unpublished on order_events (created_at, id) where published = false;
@@ -0,0 +1 @@
+create index idx_orders_status_id on orders (status, id);
@@ -0,0 +1,3 @@
+create index idx_order_status_history_order_number_changed_at
+    on order_status_history (order_number, changed_at desc)
+    include (id, previous_status, new_status, comments, changed_by);
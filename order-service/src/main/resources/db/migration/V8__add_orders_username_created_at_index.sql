@@ -0,0 +1,3 @@
+create index idx_orders_username_created_at
+    on orders (username, created_at desc, id desc)
+    include (order_number, status);
@@ -0,0 +1,37 @@
+create table order_views
+(
+    order_number text primary key,
+    username     text      not null,
+    document     jsonb     not null,
+    updated_at   timestamp not null
+);
+
+insert into order_views (order_number, username, document, updated_at)
+select o.order_number,
+       o.username,
+       jsonb_build_object(
+               'orderNumber', o.order_number,
+               'user', o.username,
+               'items', coalesce((select jsonb_agg(jsonb_build_object(
+                                          'code', i.code,
+                                          'name', i.name,
+                                          'price', i.price,
+                                          'quantity', i.quantity))
+                                  from order_items i
+                                  where i.order_id = o.id), '[]'::jsonb),
+               'customer', jsonb_build_object(
+                       'name', o.customer_name,
+                       'email', o.customer_email,
+                       'phone', o.customer_phone),
+               'deliveryAddress', jsonb_build_object(
+                       'addressLine1', o.delivery_address_line1,
+                       'addressLine2', o.delivery_address_line2,
+                       'city', o.delivery_address_city,
+                       'state', o.delivery_address_state,
+                       'zipCode', o.delivery_address_zip_code,
+                       'country', o.delivery_address_country),
+               'status', o.status,
+               'comments', o.comments,
+               'createdAt', o.created_at),
+       now()
+from orders o;
@@ -0,0 +1,88 @@
+package com.geovannycode.ecommerce.order.application.job;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
+import com.geovannycode.ecommerce.order.application.service.OrderStatusService;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import net.javacrumbs.shedlock.core.LockProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OrderProcessingJobUnitTests {
+    private static final Duration PENDING_TIMEOUT = Duration.ofMinutes(15);
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderStatusService orderStatusService = mock(OrderStatusService.class);
+    private final OrderProcessingJob job = new OrderProcessingJob(
+            orderRepository,
+            orderStatusService,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            mock(LockProvider.class),
+            applicationProperties(Map.of(
+                    "app.checkout.pending-timeout",
+                    PENDING_TIMEOUT.toMinutes() + "m",
+                    "app.processing.chunk-size",
+                    "2")));
+
+    @AfterEach
+    void tearDown() {
+        job.destroy();
+    }
+
+    @Test
+    void shouldMoveStalePendingOrdersToErrorChunkByChunk() {
+        List<OrderEntity> firstChunk = List.of(order(1L), order(2L));
+        List<OrderEntity> secondChunk = List.of(order(3L));
+        when(orderRepository.lockCreatedBeforeByStatus(eq(OrderStatus.PENDING), any(), eq(2)))
+                .thenReturn(firstChunk, secondChunk, List.of());
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        job.processStalePendingOrders();
+
+        ArgumentCaptor<LocalDateTime> createdBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderRepository, times(3))
+                .lockCreatedBeforeByStatus(eq(OrderStatus.PENDING), createdBefore.capture(), anyInt());
+        assertThat(createdBefore.getValue())
+                .isBetween(
+                        startedAt.minus(PENDING_TIMEOUT).minusSeconds(1),
+                        LocalDateTime.now().minus(PENDING_TIMEOUT));
+        verify(orderStatusService).updateOrderStatuses(firstChunk, OrderStatus.ERROR, "Checkout did not complete");
+        verify(orderStatusService).updateOrderStatuses(secondChunk, OrderStatus.ERROR, "Checkout did not complete");
+        verify(orderRepository, never()).findAllWithItems(any());
+    }
+
+    @Test
+    void shouldLeaveNothingToDoWhenNoPendingOrderIsStale() {
+        when(orderRepository.lockCreatedBeforeByStatus(eq(OrderStatus.PENDING), any(), anyInt()))
+                .thenReturn(List.of());
+
+        job.processStalePendingOrders();
+
+        verify(orderStatusService, never()).updateOrderStatuses(any(), any(), any());
+    }
+
+    private static OrderEntity order(long id) {
+        OrderEntity order = new OrderEntity();
+        order.setOrderNumber("ORD-" + id);
+        order.setStatus(OrderStatus.PENDING);
+        return order;
+    }
+}
@@ -0,0 +1,175 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.createValidOrderRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geovannycode.ecommerce.events.OrderCreatedEvent;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderNumberGenerator;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderViewRepository;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.domain.exception.CheckoutUnavailableException;
+import com.geovannycode.ecommerce.order.domain.exception.InvalidOrderException;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.validator.OrderValidator;
+import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.PaymentResponse;
+import com.geovannycode.ecommerce.order.infrastructure.output.clients.payment.PaymentServiceClient;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AsyncCheckoutServiceUnitTests {
+    private static final String ORDER_NUMBER = "ORD-1";
+    private static final CreateOrderRequest REQUEST = createValidOrderRequest();
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderViewRepository orderViewRepository = mock(OrderViewRepository.class);
+    private final OrderNumberGenerator orderNumberGenerator = mock(OrderNumberGenerator.class);
+    private final OrderValidator orderValidator = mock(OrderValidator.class);
+    private final PaymentServiceClient paymentServiceClient = mock(PaymentServiceClient.class);
+    private final OrderStatusService orderStatusService = mock(OrderStatusService.class);
+    private final OrderEventService orderEventService = mock(OrderEventService.class);
+    private final CountDownLatch finishCheckout = new CountDownLatch(1);
+    private AsyncCheckoutService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AsyncCheckoutService(
+                orderRepository,
+                orderViewRepository,
+                orderNumberGenerator,
+                orderValidator,
+                paymentServiceClient,
+                orderStatusService,
+                orderEventService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                applicationProperties(Map.of("app.checkout.max-in-flight", "1")));
+        when(orderNumberGenerator.nextOrderNumber()).thenReturn(ORDER_NUMBER);
+        when(orderRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderStatusService.updateOrderStatusIfCurrent(anyString(), any(), any(), anyString()))
+                .thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        finishCheckout.countDown();
+        service.destroy();
+    }
+
+    @Test
+    void shouldAcceptOrderAsPendingAndMoveItToNewOnceCheckedOut() {
+        OrderEntity[] saved = new OrderEntity[1];
+        when(orderRepository.save(any(OrderEntity.class))).thenAnswer(invocation -> {
+            saved[0] = invocation.getArgument(0);
+            return saved[0];
+        });
+        when(orderRepository.findByOrderNumber(ORDER_NUMBER)).thenAnswer(invocation -> Optional.of(saved[0]));
+        acceptPayment();
+
+        CreateOrderResponse response = service.submitOrder("user", REQUEST);
+
+        assertThat(response.orderNumber()).isEqualTo(ORDER_NUMBER);
+        assertThat(saved[0].getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(saved[0].getUserName()).isEqualTo("user");
+        verify(orderViewRepository).saveAll(anyList());
+        verify(orderStatusService, timeout(5000))
+                .updateOrderStatusIfCurrent(ORDER_NUMBER, OrderStatus.PENDING, OrderStatus.NEW, "Order accepted");
+        verify(orderEventService, timeout(5000)).save(any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void shouldMovePendingOrderToPaymentRejectedWhenPaymentIsRejected() {
+        when(paymentServiceClient.authorize(any()))
+                .thenReturn(new PaymentResponse(PaymentResponse.PaymentStatus.REJECTED));
+
+        service.submitOrder("user", REQUEST);
+
+        verify(orderStatusService, timeout(5000))
+                .updateOrderStatusIfCurrent(
+                        ORDER_NUMBER, OrderStatus.PENDING, OrderStatus.PAYMENT_REJECTED, "Payment rejected");
+        verify(orderEventService, never()).save(any(OrderCreatedEvent.class));
+    }
+
+    @Test
+    void shouldMovePendingOrderToErrorWhenValidationFails() {
+        doThrow(new InvalidOrderException("Invalid Product code:P100"))
+                .when(orderValidator)
+                .validate(any(CreateOrderRequest.class));
+
+        service.submitOrder("user", REQUEST);
+
+        verify(orderStatusService, timeout(5000))
+                .updateOrderStatusIfCurrent(
+                        ORDER_NUMBER, OrderStatus.PENDING, OrderStatus.ERROR, "Invalid Product code:P100");
+        verify(paymentServiceClient, never()).authorize(any());
+    }
+
+    @Test
+    void shouldMovePendingOrderToErrorWhenCheckoutFailsUnexpectedly() {
+        when(paymentServiceClient.authorize(any())).thenThrow(new IllegalStateException("boom"));
+
+        service.submitOrder("user", REQUEST);
+
+        verify(orderStatusService, timeout(5000))
+                .updateOrderStatusIfCurrent(ORDER_NUMBER, OrderStatus.PENDING, OrderStatus.ERROR, "Checkout failed");
+    }
+
+    @Test
+    void shouldRejectWithoutPersistingWhenMaxInFlightIsExhausted() {
+        when(paymentServiceClient.authorize(any())).thenAnswer(invocation -> {
+            finishCheckout.await();
+            return new PaymentResponse(PaymentResponse.PaymentStatus.ACCEPTED);
+        });
+        service.submitOrder("user", REQUEST);
+
+        assertThatThrownBy(() -> service.submitOrder("user", REQUEST)).isInstanceOf(CheckoutUnavailableException.class);
+        verify(orderRepository).save(any(OrderEntity.class));
+
+        finishCheckout.countDown();
+        verify(orderStatusService, timeout(5000))
+                .updateOrderStatusIfCurrent(ORDER_NUMBER, OrderStatus.PENDING, OrderStatus.NEW, "Order accepted");
+    }
+
+    @Test
+    void shouldReleasePermitWhenPendingOrderCannotBeSaved() {
+        when(orderRepository.save(any(OrderEntity.class)))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        acceptPayment();
+
+        assertThatThrownBy(() -> service.submitOrder("user", REQUEST)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.submitOrder("user", REQUEST).orderNumber()).isEqualTo(ORDER_NUMBER);
+    }
+
+    @Test
+    void shouldRejectWithoutPersistingWhenShuttingDown() throws InterruptedException {
+        service.destroy();
+
+        assertThatThrownBy(() -> service.submitOrder("user", REQUEST)).isInstanceOf(CheckoutUnavailableException.class);
+        verify(orderRepository, never()).save(any(OrderEntity.class));
+    }
+
+    private void acceptPayment() {
+        when(paymentServiceClient.authorize(any()))
+                .thenReturn(new PaymentResponse(PaymentResponse.PaymentStatus.ACCEPTED));
+    }
+}
@@ -0,0 +1,230 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.createValidOrderRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.application.dto.IdempotencyRecord;
+import com.geovannycode.ecommerce.order.application.ports.output.IdempotencyStore;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import com.geovannycode.ecommerce.order.domain.exception.IdempotencyKeyException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.ErrorResponseException;
+
+class IdempotentOrderServiceUnitTests {
+    private static final String USER = "user";
+    private static final String KEY = "key-1";
+    private static final CreateOrderRequest REQUEST = createValidOrderRequest();
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+    private final CountDownLatch orderCreationStarted = new CountDownLatch(1);
+    private final CountDownLatch finishOrderCreation = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        finishOrderCreation.countDown();
+    }
+
+    @Test
+    void shouldReturnStoredOrderForRepeatedKey() {
+        IdempotentOrderService service = service(Duration.ofSeconds(5));
+        when(orderService.createOrder(USER, REQUEST)).thenReturn(new CreateOrderResponse("ORD-1"));
+
+        CreateOrderResponse first = service.createOrder(USER, KEY, REQUEST);
+        CreateOrderResponse second = service.createOrder(USER, KEY, REQUEST);
+
+        assertThat(first.orderNumber()).isEqualTo("ORD-1");
+        assertThat(second.orderNumber()).isEqualTo("ORD-1");
+        verify(orderService, times(1)).createOrder(USER, REQUEST);
+    }
+
+    @Test
+    void shouldWaitLocallyForInFlightRequestWithSameKey() throws Exception {
+        IdempotentOrderService service = service(Duration.ofSeconds(5));
+        blockOrderCreation("ORD-1");
+        CompletableFuture<CreateOrderResponse> first = runAsync(() -> service.createOrder(USER, KEY, REQUEST));
+        orderCreationStarted.await();
+
+        CompletableFuture<CreateOrderResponse> second = new CompletableFuture<>();
+        Thread waiter =
+                Thread.ofPlatform().start(() -> complete(second, () -> service.createOrder(USER, KEY, REQUEST)));
+        awaitCondition(() -> waiter.getState() == Thread.State.TIMED_WAITING);
+        finishOrderCreation.countDown();
+
+        assertThat(first.get().orderNumber()).isEqualTo("ORD-1");
+        assertThat(second.get().orderNumber()).isEqualTo("ORD-1");
+        assertThat(store.finds()).isZero();
+        verify(orderService, times(1)).createOrder(USER, REQUEST);
+    }
+
+    @Test
+    void shouldPollStoreWhileAnotherInstanceHoldsKey() throws Exception {
+        IdempotentOrderService instanceA = service(Duration.ofSeconds(5));
+        IdempotentOrderService instanceB = service(Duration.ofSeconds(5));
+        blockOrderCreation("ORD-1");
+        CompletableFuture<CreateOrderResponse> first = runAsync(() -> instanceA.createOrder(USER, KEY, REQUEST));
+        orderCreationStarted.await();
+
+        CompletableFuture<CreateOrderResponse> second = runAsync(() -> instanceB.createOrder(USER, KEY, REQUEST));
+        awaitCondition(() -> store.finds() > 0);
+        finishOrderCreation.countDown();
+
+        assertThat(first.get().orderNumber()).isEqualTo("ORD-1");
+        assertThat(second.get().orderNumber()).isEqualTo("ORD-1");
+        verify(orderService, times(1)).createOrder(USER, REQUEST);
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        IdempotentOrderService service = service(Duration.ofSeconds(5));
+        CreateOrderRequest otherRequest = createValidOrderRequest();
+        when(orderService.createOrder(USER, REQUEST)).thenReturn(new CreateOrderResponse("ORD-1"));
+        service.createOrder(USER, KEY, REQUEST);
+
+        assertThatThrownBy(() -> service.createOrder(USER, KEY, otherRequest))
+                .isInstanceOfSatisfying(IdempotencyKeyException.class, e -> assertThat(statusOf(e))
+                        .isEqualTo(422));
+        verify(orderService, times(0)).createOrder(USER, otherRequest);
+    }
+
+    @Test
+    void shouldReportConflictWhenOtherInstanceDoesNotFinishInTime() throws Exception {
+        IdempotentOrderService instanceA = service(Duration.ofSeconds(5));
+        IdempotentOrderService instanceB = service(Duration.ofMillis(200));
+        blockOrderCreation("ORD-1");
+        runAsync(() -> instanceA.createOrder(USER, KEY, REQUEST));
+        orderCreationStarted.await();
+
+        assertThatThrownBy(() -> instanceB.createOrder(USER, KEY, REQUEST))
+                .isInstanceOfSatisfying(IdempotencyKeyException.class, e -> assertThat(statusOf(e))
+                        .isEqualTo(409));
+    }
+
+    @Test
+    void shouldReleaseKeyWhenOrderCreationFails() {
+        IdempotentOrderService service = service(Duration.ofSeconds(5));
+        when(orderService.createOrder(USER, REQUEST))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(new CreateOrderResponse("ORD-2"));
+
+        assertThatThrownBy(() -> service.createOrder(USER, KEY, REQUEST)).isInstanceOf(IllegalStateException.class);
+        assertThat(store.find(USER + ":" + KEY)).isEmpty();
+
+        assertThat(service.createOrder(USER, KEY, REQUEST).orderNumber()).isEqualTo("ORD-2");
+        verify(orderService, times(2)).createOrder(USER, REQUEST);
+    }
+
+    @Test
+    void shouldBackOffAndGiveUpWhenKeyKeepsFlapping() {
+        IdempotencyStore flappingStore = mock(IdempotencyStore.class);
+        when(flappingStore.claim(any(), any(), any())).thenReturn(false);
+        when(flappingStore.find(eq(USER + ":" + KEY))).thenReturn(Optional.empty());
+        IdempotentOrderService service = new IdempotentOrderService(
+                orderService,
+                flappingStore,
+                new ObjectMapper(),
+                applicationProperties(Map.of("app.idempotency.wait-timeout", "200ms")));
+
+        assertThatThrownBy(() -> service.createOrder(USER, KEY, REQUEST))
+                .isInstanceOfSatisfying(IdempotencyKeyException.class, e -> assertThat(statusOf(e))
+                        .isEqualTo(409));
+        verify(flappingStore, atMost(10)).find(USER + ":" + KEY);
+    }
+
+    private IdempotentOrderService service(Duration waitTimeout) {
+        return new IdempotentOrderService(
+                orderService,
+                store,
+                new ObjectMapper(),
+                applicationProperties(Map.of("app.idempotency.wait-timeout", waitTimeout.toMillis() + "ms")));
+    }
+
+    private void blockOrderCreation(String orderNumber) {
+        when(orderService.createOrder(USER, REQUEST)).thenAnswer(invocation -> {
+            orderCreationStarted.countDown();
+            finishOrderCreation.await();
+            return new CreateOrderResponse(orderNumber);
+        });
+    }
+
+    private static CompletableFuture<CreateOrderResponse> runAsync(Action action) {
+        CompletableFuture<CreateOrderResponse> future = new CompletableFuture<>();
+        Thread.ofPlatform().start(() -> complete(future, action));
+        return future;
+    }
+
+    private static void complete(CompletableFuture<CreateOrderResponse> future, Action action) {
+        try {
+            future.complete(action.run());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static int statusOf(ErrorResponseException e) {
+        return e.getStatusCode().value();
+    }
+
+    private interface Action {
+        CreateOrderResponse run();
+    }
+
+    /** Shared by every service instance in a test, standing in for Redis across instances. */
+    private static class InMemoryIdempotencyStore implements IdempotencyStore {
+        private final Map<String, IdempotencyRecord> records = new HashMap<>();
+        private final AtomicInteger finds = new AtomicInteger();
+
+        @Override
+        public synchronized boolean claim(String key, String fingerprint, Duration ttl) {
+            return records.putIfAbsent(key, new IdempotencyRecord(fingerprint, null)) == null;
+        }
+
+        @Override
+        public synchronized Optional<IdempotencyRecord> find(String key) {
+            finds.incrementAndGet();
+            return Optional.ofNullable(records.get(key));
+        }
+
+        @Override
+        public synchronized void complete(String key, String fingerprint, String orderNumber, Duration ttl) {
+            records.put(key, new IdempotencyRecord(fingerprint, orderNumber));
+        }
+
+        @Override
+        public synchronized void release(String key) {
+            records.remove(key);
+        }
+
+        int finds() {
+            return finds.get();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.createOrderRequestWithNoItems;
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.createValidOrderRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
+import com.geovannycode.ecommerce.order.common.model.CreateOrderResponse;
+import com.geovannycode.ecommerce.order.common.model.OrderImportResult;
+import com.geovannycode.ecommerce.order.common.model.OrderImportResult.Status;
+import com.geovannycode.ecommerce.order.common.model.OrderItem;
+import com.geovannycode.ecommerce.order.infrastructure.input.api.validator.OrderValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+class OrderImportServiceUnitTests {
+    private static final String USER = "user";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderValidator orderValidator = mock(OrderValidator.class);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderImportService service = new OrderImportService(
+            orderService,
+            orderValidator,
+            validatorFactory.getValidator(),
+            objectMapper,
+            applicationProperties(Map.of("app.import-chunk-size", "2", "app.import-max-line-length", "4096")));
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void shouldReportOneResultPerNonBlankLine() throws IOException {
+        validateByProductCode();
+        when(orderService.saveValidatedOrders(eq(USER), anyList())).thenAnswer(this::savedOrders);
+
+        List<OrderImportResult> results =
+                importOrders(json(request("P100")), "", json(request("BAD1")), "  ", json(request("P101")));
+
+        assertThat(results)
+                .containsExactlyInAnyOrder(
+                        OrderImportResult.created(1, "ORD-P100"),
+                        OrderImportResult.rejected(3, "Invalid Product code:BAD1"),
+                        OrderImportResult.created(5, "ORD-P101"));
+    }
+
+    @Test
+    void shouldRejectMalformedAndInvalidLinesWithoutStoppingTheImport() throws IOException {
+        validateByProductCode();
+        when(orderService.saveValidatedOrders(eq(USER), anyList())).thenAnswer(this::savedOrders);
+
+        List<OrderImportResult> results = importOrders(
+                "{\"items\": [", json(createOrderRequestWithNoItems()), "x".repeat(5000), json(request("P100")));
+
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).status()).isEqualTo(Status.REJECTED);
+        assertThat(results.get(0).error()).startsWith("Malformed order");
+        assertThat(results.get(1)).isEqualTo(OrderImportResult.rejected(2, "items: Items cannot be empty"));
+        assertThat(results.get(2)).isEqualTo(OrderImportResult.rejected(3, "Line is longer than 4096 characters"));
+        assertThat(results.get(3)).isEqualTo(OrderImportResult.created(4, "ORD-P100"));
+    }
+
+    @Test
+    void shouldFailOnlyTheChunkThatCouldNotBeSaved() throws IOException {
+        validateByProductCode();
+        when(orderService.saveValidatedOrders(eq(USER), anyList()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenAnswer(this::savedOrders);
+
+        List<OrderImportResult> results =
+                importOrders(json(request("P100")), json(request("P101")), json(request("P102")));
+
+        assertThat(results)
+                .containsExactly(
+                        OrderImportResult.failed(1, "Failed to save order"),
+                        OrderImportResult.failed(2, "Failed to save order"),
+                        OrderImportResult.created(3, "ORD-P102"));
+    }
+
+    @Test
+    void shouldFailChunkWhenProductValidationIsUnavailable() throws IOException {
+        CreateOrderRequest request = createValidOrderRequest();
+        when(orderValidator.findProblems(anyList())).thenThrow(new IllegalStateException("catalog down"));
+
+        List<OrderImportResult> results = importOrders(json(request));
+
+        assertThat(results).containsExactly(OrderImportResult.failed(1, "Product validation unavailable"));
+    }
+
+    private List<OrderImportResult> importOrders(String... lines) throws IOException {
+        List<OrderImportResult> results = new ArrayList<>();
+        String body = String.join("\r\n", lines) + "\n";
+        service.importOrders(USER, new BufferedReader(new StringReader(body)), results::add);
+        return results;
+    }
+
+    private String json(CreateOrderRequest request) throws IOException {
+        return objectMapper.writeValueAsString(request);
+    }
+
+    /** Treats every product code starting with {@code BAD} as unknown to the catalog. */
+    private void validateByProductCode() {
+        when(orderValidator.findProblems(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderRequest> requests = invocation.getArgument(0);
+            List<String> problems = new ArrayList<>();
+            for (CreateOrderRequest request : requests) {
+                String code = codeOf(request);
+                problems.add(code.startsWith("BAD") ? "Invalid Product code:" + code : null);
+            }
+            return problems;
+        });
+    }
+
+    private List<CreateOrderResponse> savedOrders(InvocationOnMock invocation) {
+        List<CreateOrderRequest> requests = invocation.getArgument(1);
+        return requests.stream()
+                .map(request -> new CreateOrderResponse("ORD-" + codeOf(request)))
+                .toList();
+    }
+
+    private static CreateOrderRequest request(String code) {
+        CreateOrderRequest request = createValidOrderRequest();
+        return new CreateOrderRequest(
+                Set.of(new OrderItem(code, "Product", new BigDecimal("25.50"), 1)),
+                request.customer(),
+                request.deliveryAddress(),
+                request.payment());
+    }
+
+    private static String codeOf(CreateOrderRequest request) {
+        return request.items().iterator().next().code();
+    }
+}
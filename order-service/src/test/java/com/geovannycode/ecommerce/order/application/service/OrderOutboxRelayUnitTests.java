@@ -0,0 +1,92 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geovannycode.ecommerce.order.application.ports.output.EventPublisherPort;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderEventRepository;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderEventType;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEventEntity;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class OrderOutboxRelayUnitTests {
+    private final OrderEventRepository orderEventRepository = mock(OrderEventRepository.class);
+    private final EventPublisherPort eventPublisher = mock(EventPublisherPort.class);
+    private final OrderOutboxRelay relay = new OrderOutboxRelay(
+            orderEventRepository,
+            eventPublisher,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            applicationProperties(Map.of("app.outbox.max-poll-interval", "1h", "app.outbox.send-timeout", "1s")));
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    @Test
+    void shouldPublishEachOrdersEventsOneAfterAnother() {
+        OrderEventEntity created = event(1L, "ORD-1", OrderEventType.ORDER_CREATED);
+        OrderEventEntity delivered = event(2L, "ORD-1", OrderEventType.ORDER_DELIVERED);
+        CompletableFuture<Void> createdSend = new CompletableFuture<>();
+        when(orderEventRepository.claimUnpublished(anyInt())).thenReturn(List.of(created, delivered), List.of());
+        when(eventPublisher.publish(created)).thenReturn(createdSend);
+        when(eventPublisher.publish(delivered)).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.start();
+
+        verify(eventPublisher, timeout(5000)).publish(created);
+        verify(eventPublisher, never()).publish(delivered);
+        createdSend.complete(null);
+        InOrder inOrder = inOrder(eventPublisher, orderEventRepository);
+        inOrder.verify(eventPublisher, timeout(5000)).publish(delivered);
+        inOrder.verify(orderEventRepository, timeout(5000)).markPublished(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldMarkOnlyThePublishedPrefixOfAnOrderWhenASendFails() {
+        OrderEventEntity firstCreated = event(1L, "ORD-1", OrderEventType.ORDER_CREATED);
+        OrderEventEntity secondCreated = event(2L, "ORD-2", OrderEventType.ORDER_CREATED);
+        OrderEventEntity firstDelivered = event(3L, "ORD-1", OrderEventType.ORDER_DELIVERED);
+        OrderEventEntity secondDelivered = event(4L, "ORD-2", OrderEventType.ORDER_DELIVERED);
+        when(orderEventRepository.claimUnpublished(anyInt()))
+                .thenReturn(List.of(firstCreated, secondCreated, firstDelivered, secondDelivered), List.of());
+        when(eventPublisher.publish(any(OrderEventEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(eventPublisher.publish(secondCreated))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        relay.start();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> publishedIds = ArgumentCaptor.forClass(Collection.class);
+        verify(orderEventRepository, timeout(5000)).markPublished(publishedIds.capture());
+        assertThat(publishedIds.getValue()).containsExactly(1L, 3L);
+        verify(eventPublisher, never()).publish(secondDelivered);
+    }
+
+    private static OrderEventEntity event(Long id, String orderNumber, OrderEventType eventType) {
+        OrderEventEntity event = new OrderEventEntity();
+        event.setId(id);
+        event.setOrderNumber(orderNumber);
+        event.setEventId(orderNumber + "-" + eventType);
+        event.setEventType(eventType);
+        event.setPayload(new byte[0]);
+        return event;
+    }
+}
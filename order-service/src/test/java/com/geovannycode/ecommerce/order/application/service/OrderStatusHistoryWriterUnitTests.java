@@ -0,0 +1,63 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.geovannycode.ecommerce.order.application.ports.output.OrderStatusHistoryRepository;
+import com.geovannycode.ecommerce.order.common.model.OrderStatusHistory;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class OrderStatusHistoryWriterUnitTests {
+    private final OrderStatusHistoryRepository orderStatusHistoryRepository = mock(OrderStatusHistoryRepository.class);
+    private final OrderStatusHistoryWriter writer =
+            new OrderStatusHistoryWriter(orderStatusHistoryRepository, applicationProperties(Map.of()));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(writer);
+    }
+
+    @Test
+    void shouldStageEveryEntryOfATransactionInOneBatchWhenItCommits() {
+        OrderStatusHistory accepted = entry("ORD-1", OrderStatus.PENDING, OrderStatus.NEW);
+        OrderStatusHistory delivered = entry("ORD-1", OrderStatus.NEW, OrderStatus.DELIVERED);
+        OrderStatusHistory cancelled = entry("ORD-2", OrderStatus.NEW, OrderStatus.CANCELLED);
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.record(accepted);
+        writer.recordAll(List.of(delivered, cancelled));
+        verify(orderStatusHistoryRepository, never()).stageAll(anyList());
+
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(orderStatusHistoryRepository).stageAll(List.of(accepted, delivered, cancelled));
+    }
+
+    @Test
+    void shouldStageRightAwayOutsideATransaction() {
+        OrderStatusHistory accepted = entry("ORD-1", OrderStatus.PENDING, OrderStatus.NEW);
+
+        writer.record(accepted);
+
+        verify(orderStatusHistoryRepository).stageAll(List.of(accepted));
+    }
+
+    private static OrderStatusHistory entry(String orderNumber, OrderStatus previous, OrderStatus next) {
+        return new OrderStatusHistory(orderNumber, previous, next, null, LocalDateTime.now(), "SYSTEM");
+    }
+}
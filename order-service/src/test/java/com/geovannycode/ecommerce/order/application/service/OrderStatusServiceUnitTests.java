@@ -0,0 +1,67 @@
+package com.geovannycode.ecommerce.order.application.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geovannycode.ecommerce.events.OrderEvent;
+import com.geovannycode.ecommerce.order.application.dto.OrderStatusSnapshot;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderStatusHistoryRepository;
+import com.geovannycode.ecommerce.order.application.ports.output.OrderViewRepository;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class OrderStatusServiceUnitTests {
+    private static final String ORDER_NUMBER = "ORD-1";
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderEventService orderEventService = mock(OrderEventService.class);
+    private final OrderStatusService service = new OrderStatusService(
+            orderRepository,
+            mock(OrderViewRepository.class),
+            mock(OrderStatusHistoryRepository.class),
+            mock(OrderStatusHistoryWriter.class),
+            orderEventService,
+            mock(ApplicationEventPublisher.class));
+
+    @Test
+    void shouldNotPublishErrorEventWhenPendingOrderFails() {
+        when(orderRepository.findStatusByOrderNumber(ORDER_NUMBER))
+                .thenReturn(Optional.of(new OrderStatusSnapshot(OrderStatus.PENDING, 0, "user")));
+        when(orderRepository.compareAndSetStatus(
+                        eq(ORDER_NUMBER),
+                        eq(OrderStatus.PENDING),
+                        anyLong(),
+                        eq(OrderStatus.ERROR),
+                        anyString(),
+                        any()))
+                .thenReturn(true);
+
+        service.updateOrderStatusIfCurrent(ORDER_NUMBER, OrderStatus.PENDING, OrderStatus.ERROR, "Checkout failed");
+
+        verify(orderEventService, never()).save(any(OrderEvent.class), anyLong());
+    }
+
+    @Test
+    void shouldNotPublishErrorEventsWhenPendingOrdersAreFailedInBatch() {
+        OrderEntity order = new OrderEntity();
+        order.setOrderNumber(ORDER_NUMBER);
+        order.setStatus(OrderStatus.PENDING);
+        order.setVersion(0L);
+
+        service.updateOrderStatuses(List.of(order), OrderStatus.ERROR, "Checkout did not complete");
+
+        verify(orderEventService, never()).toOrderEvent(any(OrderEvent.class), anyLong());
+        verify(orderEventService).saveAll(List.of());
+    }
+}
@@ -0,0 +1,112 @@
+package com.geovannycode.ecommerce.order.benchmark;
+
+import com.geovannycode.ecommerce.order.common.model.Address;
+import com.geovannycode.ecommerce.order.common.model.Customer;
+import com.geovannycode.ecommerce.order.common.model.enums.OrderStatus;
+import com.geovannycode.ecommerce.order.infrastructure.output.ordernumber.UuidV7OrderNumberGenerator;
+import com.geovannycode.ecommerce.order.infrastructure.output.repository.SpringDataOrderRepository;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderEntity;
+import com.geovannycode.ecommerce.order.infrastructure.persistence.entity.OrderItemEntity;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Compares order insert throughput with and without JDBC batching. Not part of the regular test run; start it
+ * with {@code ./mvnw test -Dtest='OrderInsertBenchmark*'}.
+ */
+@Testcontainers
+class OrderInsertBenchmark {
+    private static final int ORDERS = 2_000;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int WARM_UP_ORDERS = 200;
+    private static final UuidV7OrderNumberGenerator ORDER_NUMBERS = new UuidV7OrderNumberGenerator();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @Nested
+    @DataJpaTest
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @TestPropertySource(
+            properties = {
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+                "spring.jpa.properties.hibernate.order_inserts=false",
+                "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled"
+            })
+    class WithoutBatching {
+        @Autowired
+        SpringDataOrderRepository repository;
+
+        @Test
+        void insertOrders() {
+            runBenchmark("without batching", repository);
+        }
+    }
+
+    @Nested
+    @DataJpaTest
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @TestPropertySource(properties = "spring.jpa.show-sql=false")
+    class WithBatching {
+        @Autowired
+        SpringDataOrderRepository repository;
+
+        @Test
+        void insertOrders() {
+            runBenchmark("with batching", repository);
+        }
+    }
+
+    private static void runBenchmark(String label, SpringDataOrderRepository repository) {
+        repository.saveAllAndFlush(newOrders(WARM_UP_ORDERS));
+
+        List<OrderEntity> orders = newOrders(ORDERS);
+        long start = System.nanoTime();
+        repository.saveAllAndFlush(orders);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long rows = (long) ORDERS * (1 + ITEMS_PER_ORDER);
+        System.out.printf("Inserted %d rows %s in %.2fs: %.0f rows/sec%n", rows, label, seconds, rows / seconds);
+    }
+
+    private static List<OrderEntity> newOrders(int count) {
+        List<OrderEntity> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderEntity order = new OrderEntity();
+            order.setOrderNumber(ORDER_NUMBERS.nextOrderNumber());
+            order.setUserName("benchmark");
+            order.setStatus(OrderStatus.NEW);
+            order.setCustomer(new Customer("Benchmark User", "benchmark@mail.com", "999999999"));
+            order.setDeliveryAddress(new Address("Street 1", null, "Bogota", "Cundinamarca", "110111", "Colombia"));
+            Set<OrderItemEntity> items = new HashSet<>();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItemEntity item = new OrderItemEntity();
+                item.setCode("P10" + j);
+                item.setName("Product " + j);
+                item.setPrice(new BigDecimal("25.50"));
+                item.setQuantity(1);
+                item.setOrder(order);
+                items.add(item);
+            }
+            order.setItems(items);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
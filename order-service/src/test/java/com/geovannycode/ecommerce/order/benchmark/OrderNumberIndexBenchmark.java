@@ -0,0 +1,74 @@
+package com.geovannycode.ecommerce.order.benchmark;
+
+import com.geovannycode.ecommerce.order.infrastructure.output.ordernumber.UuidV7OrderNumberGenerator;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Compares random and time-ordered order numbers as keys of a unique text index like the one on
+ * {@code orders.order_number}: insert throughput and the resulting index size. Not part of the regular test
+ * run; start it with {@code ./mvnw test -Dtest=OrderNumberIndexBenchmark}.
+ */
+@Testcontainers
+class OrderNumberIndexBenchmark {
+    private static final int ROWS = 500_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:17"));
+
+    @Test
+    void compareOrderNumberStrategies() throws SQLException {
+        UuidV7OrderNumberGenerator generator = new UuidV7OrderNumberGenerator();
+        try (Connection connection =
+                DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            runBenchmark(connection, "random_uuid", () -> UUID.randomUUID().toString());
+            runBenchmark(connection, "uuid_v7", generator::nextOrderNumber);
+        }
+    }
+
+    private static void runBenchmark(Connection connection, String table, Supplier<String> orderNumbers)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "create table " + table + " (id bigserial primary key, order_number text not null unique)");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert =
+                connection.prepareStatement("insert into " + table + " (order_number) values (?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setString(1, orderNumbers.get());
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        connection.setAutoCommit(true);
+
+        long indexBytes;
+        try (Statement statement = connection.createStatement();
+                ResultSet result =
+                        statement.executeQuery("select pg_relation_size('" + table + "_order_number_key')")) {
+            result.next();
+            indexBytes = result.getLong(1);
+        }
+        System.out.printf(
+                "%s: inserted %d rows in %.2fs (%.0f rows/sec), order number index %.1f MB%n",
+                table, ROWS, seconds, ROWS / seconds, indexBytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,26 @@
+package com.geovannycode.ecommerce.order.common.model.enums;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class OrderStatusUnitTests {
+
+    @Test
+    void shouldAllowForwardTransitions() {
+        assertThat(OrderStatus.PENDING.canTransitionTo(OrderStatus.NEW)).isTrue();
+        assertThat(OrderStatus.NEW.canTransitionTo(OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderStatus.ERROR.canTransitionTo(OrderStatus.CANCELLED)).isTrue();
+    }
+
+    @Test
+    void shouldNotLeaveTerminalStatuses() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertThat(OrderStatus.DELIVERED.canTransitionTo(target)).isFalse();
+            assertThat(OrderStatus.CANCELLED.canTransitionTo(target)).isFalse();
+        }
+        assertThat(OrderStatus.DELIVERED.isTerminal()).isTrue();
+        assertThat(OrderStatus.NEW.isTerminal()).isFalse();
+        assertThat(OrderStatus.NEW.canTransitionTo(OrderStatus.PENDING)).isFalse();
+    }
+}
@@ -0,0 +1,156 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.clients.payment;
+
+import static com.geovannycode.ecommerce.order.testdata.TestDataFactory.applicationProperties;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geovannycode.ecommerce.order.domain.exception.PaymentUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class PaymentServiceClientUnitTests {
+    private static final PaymentRequest REQUEST = new PaymentRequest("4111111111111111", "123", 12, 2030);
+    private static final Duration TIMEOUT = Duration.ofMillis(300);
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final CountDownLatch paymentServiceStalled = new CountDownLatch(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkheadRegistry bulkheadRegistry;
+    private PaymentServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentServiceStalled.countDown();
+        client.destroy();
+    }
+
+    @Test
+    void shouldRejectPaymentWhenPaymentServiceAnswersWithClientError() {
+        client = client(Duration.ZERO);
+        whenPaymentServiceCalled().thenThrow(new HttpClientErrorException(HttpStatus.UNPROCESSABLE_ENTITY));
+
+        PaymentResponse response = client.authorize(REQUEST);
+
+        assertThat(response.status()).isEqualTo(PaymentResponse.PaymentStatus.REJECTED);
+    }
+
+    @Test
+    void shouldFailAsUnavailableWhenPaymentServiceAnswersWithServerError() {
+        client = client(Duration.ZERO);
+        whenPaymentServiceCalled().thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertThatThrownBy(() -> client.authorize(REQUEST))
+                .isInstanceOf(PaymentUnavailableException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+    }
+
+    @Test
+    void shouldKeepBulkheadPermitUntilTimedOutCallFinishes() throws InterruptedException {
+        client = client(Duration.ZERO);
+        whenPaymentServiceCalled().thenAnswer(invocation -> {
+            paymentServiceStalled.await();
+            return ResponseEntity.ok(new PaymentResponse(PaymentResponse.PaymentStatus.ACCEPTED));
+        });
+
+        assertThatThrownBy(() -> client.authorize(REQUEST))
+                .isInstanceOf(PaymentUnavailableException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThatThrownBy(() -> client.authorize(REQUEST))
+                .isInstanceOf(PaymentUnavailableException.class)
+                .hasCauseInstanceOf(BulkheadFullException.class);
+
+        paymentServiceStalled.countDown();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (availablePermits() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnHedgedAnswerWhenFirstAttemptIsSlow() {
+        bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        client = client(Duration.ofMillis(50));
+        AtomicInteger attempts = new AtomicInteger();
+        whenPaymentServiceCalled().thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                paymentServiceStalled.await();
+            }
+            return ResponseEntity.ok(new PaymentResponse(PaymentResponse.PaymentStatus.ACCEPTED));
+        });
+
+        PaymentResponse response = client.authorize(REQUEST);
+
+        assertThat(response.status()).isEqualTo(PaymentResponse.PaymentStatus.ACCEPTED);
+        assertThat(meterRegistry.counter("payment.authorization.hedged").count())
+                .isEqualTo(1);
+        verify(restTemplate, times(2))
+                .exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(PaymentResponse.class));
+    }
+
+    private PaymentServiceClient client(Duration hedgeDelay) {
+        return new PaymentServiceClient(
+                restTemplate,
+                applicationProperties(Map.of(
+                        "app.payment-service-url",
+                        "http://payment-service",
+                        "app.payment.hedge-delay",
+                        hedgeDelay.toMillis() + "ms")),
+                bulkheadRegistry,
+                TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                        .timeoutDuration(TIMEOUT)
+                        .cancelRunningFuture(true)
+                        .build()),
+                CircuitBreakerRegistry.ofDefaults(),
+                meterRegistry);
+    }
+
+    private int availablePermits() {
+        return bulkheadRegistry.bulkhead("payment-service").getMetrics().getAvailableConcurrentCalls();
+    }
+
+    private OngoingStubbing<ResponseEntity<PaymentResponse>> whenPaymentServiceCalled() {
+        return when(restTemplate.exchange(
+                anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(PaymentResponse.class)));
+    }
+}
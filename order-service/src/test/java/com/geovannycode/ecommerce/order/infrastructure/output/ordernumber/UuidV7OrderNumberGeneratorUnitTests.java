@@ -0,0 +1,35 @@
+package com.geovannycode.ecommerce.order.infrastructure.output.ordernumber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidV7OrderNumberGeneratorUnitTests {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        UUID uuid = new UuidV7OrderNumberGenerator().nextUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStayOrderedWhenManyNumbersShareOneMillisecond() {
+        Clock frozen = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+        UuidV7OrderNumberGenerator generator = new UuidV7OrderNumberGenerator(frozen);
+
+        List<String> orderNumbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            orderNumbers.add(generator.nextOrderNumber());
+        }
+
+        assertThat(orderNumbers).isSorted().doesNotHaveDuplicates();
+    }
+}
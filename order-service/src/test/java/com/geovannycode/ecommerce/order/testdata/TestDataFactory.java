@@ -2,14 +2,18 @@ package com.geovannycode.ecommerce.order.testdata;
 
 import static org.instancio.Select.field;
 
+import com.geovannycode.ecommerce.order.ApplicationProperties;
 import com.geovannycode.ecommerce.order.common.model.Address;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import com.geovannycode.ecommerce.order.common.model.Customer;
 import com.geovannycode.ecommerce.order.common.model.OrderItem;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.instancio.Instancio;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 
 public class TestDataFactory {
     static final List<String> VALID_COUNTIES = List.of("Colombia", "Nicaragua");
@@ -50,4 +54,10 @@ public class TestDataFactory {
                 .set(field(CreateOrderRequest::items), Set.of())
                 .create();
     }
+
+    /** Binds {@code app.*} properties the way the application does, so every unset property takes its default. */
+    public static ApplicationProperties applicationProperties(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("app", ApplicationProperties.class);
+    }
 }
@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geovannycode.ecommerce.order.application.service.IdempotentOrderService;
 import com.geovannycode.ecommerce.order.application.service.OrderService;
 import com.geovannycode.ecommerce.order.common.model.CreateOrderRequest;
 import com.geovannycode.ecommerce.order.infrastructure.input.api.controller.OrderController;
@@ -31,6 +32,9 @@ public class OrderControllerUnitTests {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private IdempotentOrderService idempotentOrderService;
+
     @InjectMocks
     private OrderController orderController;
 
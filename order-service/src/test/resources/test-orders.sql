@@ -1,4 +1,4 @@
-truncate table orders cascade;
+truncate table orders, order_items;
 alter sequence order_id_seq restart with 100;
 alter sequence order_item_id_seq restart with 100;
 
@@ -6,12 +6,12 @@ insert into orders (id,order_number,username,
                     customer_name,customer_email,customer_phone,
                     delivery_address_line1,delivery_address_line2,delivery_address_city,
                     delivery_address_state,delivery_address_zip_code,delivery_address_country,
-                    status,comments) values
-                                         (1, 'order-123', 'geovanny', 'Geovanny', 'geovanny@gmail.com', '11111111', '123 Main St', 'Apt 1', 'Barranquilla', 'ATL', '75001', 'Colombia', 'NEW', null),
-                                         (2, 'order-456', 'geovanny', 'Elena', 'elena@gmail.com', '2222222', '123 Main St', 'Apt 1', 'Managua', 'NC', '500072', 'Nicaragua', 'NEW', null)
+                    status,comments,created_at) values
+                                         (1, 'order-123', 'geovanny', 'Geovanny', 'geovanny@gmail.com', '11111111', '123 Main St', 'Apt 1', 'Barranquilla', 'ATL', '75001', 'Colombia', 'NEW', null, '2025-01-15 10:00:00'),
+                                         (2, 'order-456', 'geovanny', 'Elena', 'elena@gmail.com', '2222222', '123 Main St', 'Apt 1', 'Managua', 'NC', '500072', 'Nicaragua', 'NEW', null, '2025-01-15 11:00:00')
 ;
 
-insert into order_items(order_id, code, name, price, quantity) values
-                                                                   (1, 'P100', 'The Hunger Games', 34.0, 2),
-                                                                   (1, 'P101', 'To Kill a Mockingbird', 45.40, 1),
-                                                                   (2, 'P102', 'The Chronicles of Narnia', 44.50, 1)
\ No newline at end of file
+insert into order_items(order_id, code, name, price, quantity, order_created_at) values
+                                                                   (1, 'P100', 'The Hunger Games', 34.0, 2, '2025-01-15 10:00:00'),
+                                                                   (1, 'P101', 'To Kill a Mockingbird', 45.40, 1, '2025-01-15 10:00:00'),
+                                                                   (2, 'P102', 'The Chronicles of Narnia', 44.50, 1, '2025-01-15 11:00:00')
\ No newline at end of file